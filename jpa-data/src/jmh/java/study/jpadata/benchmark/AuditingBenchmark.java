@@ -0,0 +1,61 @@
+package study.jpadata.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.jpadata.audit.CoarseClock;
+import study.jpadata.entity.Member;
+import study.jpadata.service.MemberBulkService;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 감사 모드별 대량 insert 처리량(rows/sec) 과 auditor/시계 생성 비용 비교.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AuditingBenchmark {
+    static final int ROWS = 1000;
+
+    @Param({"false", "true"})
+    boolean auditLog;
+
+    ConfigurableApplicationContext context;
+    MemberBulkService memberBulkService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--app.audit.log.enabled=" + auditLog);
+        memberBulkService = context.getBean(MemberBulkService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long bulkInsert() {
+        return memberBulkService.saveAllBatched(
+                IntStream.range(0, ROWS).mapToObj(i -> new Member("member" + i, i)), 100);
+    }
+
+    @Benchmark
+    public String randomUuidAuditor() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public LocalDateTime systemClock() {
+        return LocalDateTime.now();
+    }
+
+    @Benchmark
+    public LocalDateTime coarseClock() {
+        return CoarseClock.now();
+    }
+}
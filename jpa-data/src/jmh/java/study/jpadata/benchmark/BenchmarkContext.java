@@ -0,0 +1,89 @@
+package study.jpadata.benchmark;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpadata.JpaDataApplication;
+import study.jpadata.entity.Member;
+import study.jpadata.entity.Team;
+import study.jpadata.service.MemberBulkService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * 벤치마크용 스프링 컨텍스트. 매 trial 마다 독립된 in-memory H2 를 띄우고 SQL 로깅/p6spy 는 끈다.
+ */
+public final class BenchmarkContext {
+    public static final int MEMBERS_PER_TEAM = 100;
+    public static final int AGE_BUCKETS = 100;
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String... extraArgs) {
+        return start(WebApplicationType.NONE, extraArgs);
+    }
+
+    // 랜덤 포트로 tomcat 까지 띄운다. 포트는 local.server.port 로 꺼낸다.
+    public static ConfigurableApplicationContext startWeb(String... extraArgs) {
+        return startWebOn(newDatabaseUrl(), extraArgs);
+    }
+
+    public static ConfigurableApplicationContext startWebOn(String databaseUrl, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of("--server.port=0"));
+        args.addAll(Arrays.asList(extraArgs));
+        return run(WebApplicationType.SERVLET, databaseUrl, args.toArray(new String[0]));
+    }
+
+    // replica 풀을 같은 DB 에 붙이는 경우처럼 url 을 미리 알아야 할 때 쓴다.
+    public static ConfigurableApplicationContext startOn(String databaseUrl, String... extraArgs) {
+        return run(WebApplicationType.NONE, databaseUrl, extraArgs);
+    }
+
+    public static String newDatabaseUrl() {
+        return "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... extraArgs) {
+        return run(webApplicationType, newDatabaseUrl(), extraArgs);
+    }
+
+    private static ConfigurableApplicationContext run(WebApplicationType webApplicationType, String databaseUrl,
+                                                      String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + databaseUrl,
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--logging.level.org.hibernate.SQL=warn",
+                "--logging.level.root=warn",
+                "--decorator.datasource.enabled=false"));
+        args.addAll(Arrays.asList(extraArgs));
+
+        SpringApplication application = new SpringApplication(JpaDataApplication.class);
+        application.setWebApplicationType(webApplicationType);
+        application.setBannerMode(Banner.Mode.OFF);
+        return application.run(args.toArray(new String[0]));
+    }
+
+    /**
+     * member{i} 이름, i % AGE_BUCKETS 나이로 datasetSize 명을 팀 단위로 나눠 넣는다.
+     */
+    public static void seed(ConfigurableApplicationContext context, int datasetSize) {
+        MemberBulkService bulkService = context.getBean(MemberBulkService.class);
+        TransactionTemplate tx = context.getBean(TransactionTemplate.class);
+
+        int teamCount = Math.max(1, datasetSize / MEMBERS_PER_TEAM);
+        List<Team> teams = new ArrayList<>(teamCount);
+        for (int i = 0; i < teamCount; i++) {
+            teams.add(new Team("team" + i));
+        }
+        tx.executeWithoutResult(status -> bulkService.saveAllTeamsBatched(teams.stream(), 100));
+        tx.executeWithoutResult(status -> bulkService.saveAllBatched(IntStream.range(0, datasetSize)
+                .mapToObj(i -> Member.forBulkInsert("member" + i, i % AGE_BUCKETS, teams.get(i % teamCount))), 100));
+    }
+}
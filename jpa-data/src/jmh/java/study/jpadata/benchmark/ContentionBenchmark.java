@@ -0,0 +1,78 @@
+package study.jpadata.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+import study.jpadata.entity.Member;
+import study.jpadata.repository.MemberRepository;
+import study.jpadata.service.MemberUpdateService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 같은 row(hot) / 스레드마다 다른 row(spread) 를 동시에 갱신할 때 optimistic 재시도와 pessimistic lock 비교.
+ * aborts 는 재시도 한도를 넘겨 포기한 횟수.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class ContentionBenchmark {
+    static final int THREADS = 8;
+
+    @Param({"hot", "spread"})
+    String rows;
+
+    ConfigurableApplicationContext context;
+    MemberUpdateService memberUpdateService;
+    List<Long> ids;
+    final AtomicInteger nextThread = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--app.optimistic-retry.max-attempts=10");
+        memberUpdateService = context.getBean(MemberUpdateService.class);
+        MemberRepository memberRepository = context.getBean(MemberRepository.class);
+        ids = memberRepository.saveAll(IntStream.range(0, THREADS)
+                        .mapToObj(i -> new Member("contended" + i, 0))
+                        .collect(Collectors.toList()))
+                .stream().map(Member::getId).collect(Collectors.toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Target {
+        Long id;
+        public long aborts;
+
+        @Setup(Level.Trial)
+        public void setUp(ContentionBenchmark benchmark) {
+            int thread = benchmark.nextThread.getAndIncrement();
+            id = benchmark.ids.get("hot".equals(benchmark.rows) ? 0 : thread % THREADS);
+        }
+    }
+
+    @Benchmark
+    public Object optimistic(Target target) {
+        try {
+            return memberUpdateService.addAgeOptimistic(target.id, 1);
+        } catch (OptimisticLockingFailureException e) {
+            target.aborts++;
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object pessimistic(Target target) {
+        return memberUpdateService.addAgePessimistic(target.id, 1);
+    }
+}
@@ -0,0 +1,74 @@
+package study.jpadata.benchmark;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpadata.entity.Member;
+import study.jpadata.repository.MemberRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * findByNames 지연과 query plan cache 크기. 매 호출마다 리스트 길이를 size/2 ~ size 사이에서 바꾼다.
+ * planCacheMisses 는 호출당 plan 을 새로 만든 횟수라 padding 을 켜면 0 에 가까워야 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InClauseBenchmark {
+    private static final int DATASET_SIZE = 100_000;
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    int size;
+
+    @Param({"true", "false"})
+    boolean padding;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    TransactionTemplate tx;
+    Statistics statistics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "--spring.jpa.properties.hibernate.query.in_clause_parameter_padding=" + padding,
+                "--spring.jpa.properties.hibernate.generate_statistics=true");
+        BenchmarkContext.seed(context, DATASET_SIZE);
+        memberRepository = context.getBean(MemberRepository.class);
+        tx = context.getBean(TransactionTemplate.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%nsize=%d padding=%s plan cache misses=%d hits=%d%n", size, padding,
+                statistics.getQueryPlanCacheMissCount(), statistics.getQueryPlanCacheHitCount());
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PlanCache {
+        public long planCacheMisses;
+    }
+
+    @Benchmark
+    public List<Member> findByNames(PlanCache planCache) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<String> names = IntStream.range(0, random.nextInt(size / 2, size + 1))
+                .mapToObj(i -> "member" + random.nextInt(DATASET_SIZE))
+                .collect(Collectors.toList());
+        long misses = statistics.getQueryPlanCacheMissCount();
+        List<Member> result = tx.execute(status -> memberRepository.findByNames(names));
+        planCache.planCacheMisses += statistics.getQueryPlanCacheMissCount() - misses;
+        return result;
+    }
+}
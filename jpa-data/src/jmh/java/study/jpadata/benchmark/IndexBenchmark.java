@@ -0,0 +1,83 @@
+package study.jpadata.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpadata.entity.Member;
+import study.jpadata.repository.MemberRepository;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Member 인덱스 유무에 따른 조회 지연. indexes=false 면 기동 후 인덱스를 drop 해서 이전 스키마를 재현한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IndexBenchmark {
+    private static final List<String> INDEXES = List.of(
+            "idx_member_name_age", "idx_member_age_name", "idx_member_created_date");
+
+    @Param({"1000000"})
+    int datasetSize;
+
+    @Param({"true", "false"})
+    boolean indexes;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    TransactionTemplate tx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--app.index-advisor.enabled=false");
+        BenchmarkContext.seed(context, datasetSize);
+        memberRepository = context.getBean(MemberRepository.class);
+        tx = context.getBean(TransactionTemplate.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        if (!indexes) {
+            INDEXES.forEach(index -> jdbcTemplate.execute("drop index " + index));
+        }
+        jdbcTemplate.execute("analyze");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Member> findUser() {
+        return tx.execute(status -> memberRepository.findUser(randomName(), 10));
+    }
+
+    @Benchmark
+    public List<Member> findByNameAndAgeGreaterThan() {
+        return tx.execute(status -> memberRepository.findByNameAndAgeGreaterThan(randomName(), 10));
+    }
+
+    @Benchmark
+    public List<Member> findByNames() {
+        return tx.execute(status -> memberRepository.findByNames(List.of(randomName(), randomName(), randomName())));
+    }
+
+    @Benchmark
+    public Slice<Member> findSliceByAge() {
+        int age = ThreadLocalRandom.current().nextInt(BenchmarkContext.AGE_BUCKETS);
+        return tx.execute(status -> memberRepository.findSliceByAge(age, PageRequest.of(0, 10)));
+    }
+
+    @Benchmark
+    public Slice<Member> findFirstSlice() {
+        return tx.execute(status -> memberRepository.findFirstSlice(PageRequest.of(0, 10)));
+    }
+
+    private String randomName() {
+        return "member" + ThreadLocalRandom.current().nextInt(datasetSize);
+    }
+}
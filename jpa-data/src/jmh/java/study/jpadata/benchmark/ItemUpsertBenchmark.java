@@ -0,0 +1,73 @@
+package study.jpadata.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpadata.entity.Item;
+import study.jpadata.repository.ItemRepository;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Item 저장 처리량(rows/sec). saveAll 은 새 Item 은 persist, 이미 저장된(detached) Item 은 merge 라 select 가 먼저 나간다.
+ * upsertAll 은 두 경우 모두 조회 없이 batch 로 처리한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ItemUpsertBenchmark {
+    static final int ROWS = 5000;
+
+    ConfigurableApplicationContext context;
+    ItemRepository itemRepository;
+    TransactionTemplate tx;
+    List<Item> existing;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--spring.jpa.properties.hibernate.jdbc.batch_size=1000");
+        itemRepository = context.getBean(ItemRepository.class);
+        tx = context.getBean(TransactionTemplate.class);
+        existing = tx.execute(status -> itemRepository.saveAll(newItems()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Item> saveAllNew() {
+        return tx.execute(status -> itemRepository.saveAll(newItems()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long upsertAllNew() {
+        return itemRepository.upsertAll(newItems());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Item> saveAllExisting() {
+        return tx.execute(status -> itemRepository.saveAll(existing));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long upsertAllExisting() {
+        return itemRepository.upsertAll(existing);
+    }
+
+    private static List<Item> newItems() {
+        String prefix = UUID.randomUUID().toString();
+        return IntStream.range(0, ROWS)
+                .mapToObj(i -> new Item(prefix + "-" + i))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,67 @@
+package study.jpadata.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.jpadata.entity.Member;
+import study.jpadata.repository.MemberRepository;
+import study.jpadata.service.MemberBulkService;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 행 단위 save 와 batch insert 비교. OperationsPerInvocation 으로 결과가 rows/sec 로 나온다.
+ * batchSize 는 saveAllBatched 에만 의미가 있어 그 state 에만 둔다. 매 iteration 끝에 넣은 행을 비워 테이블 크기를 같게 한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(MemberBulkInsertBenchmark.ROWS)
+public class MemberBulkInsertBenchmark {
+    static final int ROWS = 1000;
+
+    @State(Scope.Benchmark)
+    public static class Context {
+        ConfigurableApplicationContext context;
+        MemberRepository memberRepository;
+        MemberBulkService memberBulkService;
+        JdbcTemplate jdbcTemplate;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = BenchmarkContext.start();
+            memberRepository = context.getBean(MemberRepository.class);
+            memberBulkService = context.getBean(MemberBulkService.class);
+            jdbcTemplate = context.getBean(JdbcTemplate.class);
+        }
+
+        @TearDown(Level.Iteration)
+        public void truncate() {
+            jdbcTemplate.execute("truncate table member_name_token");
+            jdbcTemplate.execute("truncate table member");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    public static class Batched extends Context {
+        @Param({"50", "100", "500"})
+        int batchSize;
+    }
+
+    @Benchmark
+    public void saveEachRow(Context state) {
+        for (int i = 0; i < ROWS; i++) {
+            state.memberRepository.save(new Member("member" + i, i));
+        }
+    }
+
+    @Benchmark
+    public long saveAllBatched(Batched state) {
+        return state.memberBulkService.saveAllBatched(
+                IntStream.range(0, ROWS).mapToObj(i -> new Member("member" + i, i)), state.batchSize);
+    }
+}
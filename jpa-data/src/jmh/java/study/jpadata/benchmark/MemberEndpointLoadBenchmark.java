@@ -0,0 +1,64 @@
+package study.jpadata.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /members/{id} 부하 테스트. SampleTime 모드라 p99 가 결과에 함께 나온다.
+ * 동시 클라이언트 수는 -t (예: ./gradlew jmh -PjmhIncludes=MemberEndpointLoadBenchmark, jmh { threads = 1000 }) 로 조절한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(200)
+public class MemberEndpointLoadBenchmark {
+    private static final int DATASET_SIZE = 10_000;
+
+    @Param({"false", "true"})
+    boolean virtualThreads;
+
+    @Param({"true", "false"})
+    boolean jdbcLimiter;
+
+    ConfigurableApplicationContext context;
+    HttpClient client;
+    String baseUrl;
+    Long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startWeb(
+                "--app.web.virtual-threads=" + virtualThreads,
+                "--app.jdbc.limiter.enabled=" + jdbcLimiter);
+        BenchmarkContext.seed(context, DATASET_SIZE);
+        EntityManager em = context.getBean(EntityManager.class);
+        ids = context.getBean(TransactionTemplate.class)
+                .execute(status -> em.createQuery("select m.id from Member m", Long.class)
+                        .getResultList()
+                        .toArray(new Long[0]));
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String findMember() throws IOException, InterruptedException {
+        Long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/members/" + id)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
@@ -0,0 +1,88 @@
+package study.jpadata.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpadata.entity.Member;
+import study.jpadata.repository.MemberJpaRepository;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MemberJpaRepositoryBenchmark {
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"1000", "100000"})
+    int datasetSize;
+
+    ConfigurableApplicationContext context;
+    MemberJpaRepository memberJpaRepository;
+    TransactionTemplate tx;
+    EntityManager em;
+    Long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, datasetSize);
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        tx = context.getBean(TransactionTemplate.class);
+        em = context.getBean(EntityManager.class);
+        ids = tx.execute(status -> em.createQuery("select m.id from Member m", Long.class)
+                .getResultList()
+                .toArray(new Long[0]));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Member save() {
+        // 데이터셋 크기를 유지하기 위해 insert 까지 flush 한 뒤 롤백한다.
+        return tx.execute(status -> {
+            Member member = memberJpaRepository.save(new Member("bench", 1));
+            em.flush();
+            status.setRollbackOnly();
+            return member;
+        });
+    }
+
+    @Benchmark
+    public Member findById() {
+        Long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        return tx.execute(status -> memberJpaRepository.findById(id).orElseThrow());
+    }
+
+    @Benchmark
+    public List<Member> findByNameAndAgeGreaterThan() {
+        int i = ThreadLocalRandom.current().nextInt(datasetSize);
+        return tx.execute(status -> memberJpaRepository.findByNameAndAgeGreaterThan("member" + i, 0));
+    }
+
+    @Benchmark
+    public long findByPageAndTotalCount() {
+        int age = ThreadLocalRandom.current().nextInt(BenchmarkContext.AGE_BUCKETS);
+        int rowsPerAge = datasetSize / BenchmarkContext.AGE_BUCKETS;
+        int offset = ThreadLocalRandom.current().nextInt(Math.max(1, rowsPerAge - PAGE_SIZE));
+        return tx.execute(status -> {
+            List<Member> page = memberJpaRepository.findByPage(age, offset, PAGE_SIZE);
+            return page.size() + memberJpaRepository.totalCount(age);
+        });
+    }
+
+    @Benchmark
+    public int bulkAgePlus() {
+        return tx.execute(status -> {
+            int updated = memberJpaRepository.bulkAgePlus(BenchmarkContext.AGE_BUCKETS - 1);
+            status.setRollbackOnly();
+            return updated;
+        });
+    }
+}
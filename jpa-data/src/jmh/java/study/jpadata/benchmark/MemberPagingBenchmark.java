@@ -0,0 +1,72 @@
+package study.jpadata.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import study.jpadata.dto.MemberDto;
+import study.jpadata.dto.PageResponse;
+import study.jpadata.entity.Member;
+import study.jpadata.paging.CountMode;
+import study.jpadata.paging.PageTotals;
+import study.jpadata.repository.MemberRepository;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /members 한 페이지 비용. Page(select + count) 와 Slice + total 모드별 비교.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MemberPagingBenchmark {
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"1000", "100000"})
+    int datasetSize;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    PageTotals pageTotals;
+    PageRequest firstPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, datasetSize);
+        memberRepository = context.getBean(MemberRepository.class);
+        pageTotals = context.getBean(PageTotals.class);
+        firstPage = PageRequest.of(0, PAGE_SIZE, Sort.by("createdDate"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<MemberDto> pageWithCount() {
+        return memberRepository.findMemberDtoPage(firstPage);
+    }
+
+    @Benchmark
+    public PageResponse<MemberDto> sliceExact() {
+        return slice(CountMode.EXACT);
+    }
+
+    @Benchmark
+    public PageResponse<MemberDto> sliceCached() {
+        return slice(CountMode.CACHED);
+    }
+
+    @Benchmark
+    public PageResponse<MemberDto> sliceApproximate() {
+        return slice(CountMode.APPROXIMATE);
+    }
+
+    private PageResponse<MemberDto> slice(CountMode mode) {
+        return pageTotals.toResponse(memberRepository.findMemberDtoSlice(firstPage), mode,
+                "members", Member.class, memberRepository::count);
+    }
+}
@@ -0,0 +1,88 @@
+package study.jpadata.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpadata.dto.MemberCursor;
+import study.jpadata.dto.MemberDto;
+import study.jpadata.entity.Member;
+import study.jpadata.repository.MemberRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MemberRepositoryBenchmark {
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"1000", "100000"})
+    int datasetSize;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    TransactionTemplate tx;
+    PageRequest deepPage;
+    MemberCursor deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, datasetSize);
+        memberRepository = context.getBean(MemberRepository.class);
+        tx = context.getBean(TransactionTemplate.class);
+
+        // 마지막 페이지 직전을 "깊은 페이지" 로 잡고, 같은 위치의 keyset 커서를 미리 만들어 둔다.
+        // 두 경로 모두 count 없이 (createdDate, id) 순서의 Slice<Member> 를 돌려줘 offset 과 keyset 차이만 잰다.
+        int pageNumber = datasetSize / PAGE_SIZE - 1;
+        deepPage = PageRequest.of(pageNumber, PAGE_SIZE);
+        deepCursor = tx.execute(status -> {
+            Member last = memberRepository.findFirstSlice(PageRequest.of(pageNumber - 1, PAGE_SIZE))
+                    .getContent()
+                    .get(PAGE_SIZE - 1);
+            return MemberCursor.of(last);
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Member> findAllMemberJoinTeam() {
+        return tx.execute(status -> memberRepository.findAllMemberJoinTeam());
+    }
+
+    @Benchmark
+    public List<Member> findAllEntityGraph() {
+        return tx.execute(status -> memberRepository.findAll());
+    }
+
+    @Benchmark
+    public Slice<Member> deepPageOffset() {
+        return tx.execute(status -> memberRepository.findFirstSlice(deepPage));
+    }
+
+    @Benchmark
+    public Slice<Member> deepPageKeyset() {
+        return tx.execute(status -> memberRepository.findSliceAfter(
+                deepCursor.getCreatedDate(), deepCursor.getId(), PageRequest.of(0, PAGE_SIZE)));
+    }
+
+    @Benchmark
+    public Page<MemberDto> firstPageEntity() {
+        return tx.execute(status -> memberRepository.findAll(PageRequest.of(0, PAGE_SIZE, Sort.by("createdDate")))
+                .map(MemberDto::new));
+    }
+
+    @Benchmark
+    public Page<MemberDto> firstPageDtoProjection() {
+        return tx.execute(status -> memberRepository.findMemberDtoPage(PageRequest.of(0, PAGE_SIZE, Sort.by("createdDate"))));
+    }
+}
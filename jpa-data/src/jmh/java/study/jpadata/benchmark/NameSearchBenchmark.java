@@ -0,0 +1,78 @@
+package study.jpadata.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpadata.entity.Member;
+import study.jpadata.repository.MemberRepository;
+
+import javax.persistence.EntityManager;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이름 검색 한 페이지(20건) 지연: member_name_token prefix 검색(searchByName) vs like '%x%' 전체 scan(containsScan).
+ * 검색어는 member{prefixDigits 자리 숫자} 로, 자리 수가 적을수록 걸리는 회원이 많다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NameSearchBenchmark {
+    private static final PageRequest PAGE = PageRequest.of(0, 20);
+
+    @Param({"1000000"})
+    int datasetSize;
+
+    @Param({"3", "5"})
+    int prefixDigits;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    EntityManager em;
+    TransactionTemplate tx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--app.index-advisor.enabled=false");
+        BenchmarkContext.seed(context, datasetSize);
+        memberRepository = context.getBean(MemberRepository.class);
+        em = context.getBean(EntityManager.class);
+        tx = context.getBean(TransactionTemplate.class);
+        context.getBean(JdbcTemplate.class).execute("analyze");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Member> searchByName() {
+        return tx.execute(status -> memberRepository.searchByName("member" + randomDigits(), PAGE));
+    }
+
+    // searchByName 과 같게 content + count 를 한 번씩 실행한다.
+    @Benchmark
+    public Page<Member> containsScan() {
+        String name = "%member" + randomDigits() + "%";
+        return tx.execute(status -> PageableExecutionUtils.getPage(
+                em.createQuery("select m from Member m where lower(m.name) like :name order by m.name asc, m.id asc",
+                                Member.class)
+                        .setParameter("name", name)
+                        .setMaxResults(PAGE.getPageSize())
+                        .getResultList(),
+                PAGE,
+                () -> em.createQuery("select count(m) from Member m where lower(m.name) like :name", Long.class)
+                        .setParameter("name", name)
+                        .getSingleResult()));
+    }
+
+    private String randomDigits() {
+        int bound = (int) Math.pow(10, prefixDigits);
+        return String.valueOf(bound / 10 + ThreadLocalRandom.current().nextInt(bound - bound / 10));
+    }
+}
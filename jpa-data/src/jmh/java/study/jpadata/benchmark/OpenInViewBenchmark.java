@@ -0,0 +1,78 @@
+package study.jpadata.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * open-in-view on/off 에 따른 /members 처리량. 풀을 작게 두고 동시 요청을 많이 걸어 커넥션 점유 시간 차이가 처리량으로 드러나게 한다.
+ * trial 이 끝나면 요청당 connection hold 평균과 p99 를 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(200)
+public class OpenInViewBenchmark {
+    private static final int DATASET_SIZE = 10_000;
+    private static final int POOL_SIZE = 5;
+
+    @Param({"true", "false"})
+    boolean openInView;
+
+    ConfigurableApplicationContext context;
+    HttpClient client;
+    String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startWeb(
+                "--spring.jpa.open-in-view=" + openInView,
+                "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "--spring.datasource.hikari.minimum-idle=" + POOL_SIZE,
+                "--spring.datasource.hikari.connection-timeout=30000",
+                "--app.jdbc.pool.auto-size=false",
+                "--app.jdbc.pool.telemetry=true");
+        BenchmarkContext.seed(context, DATASET_SIZE);
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Timer hold = context.getBean(MeterRegistry.class)
+                .find("jdbc.connection.hold").tag("uri", "/members").timer();
+        if (hold != null) {
+            // hold 는 percentile histogram 만 내보내므로 누적 bucket 에서 p99 를 근사한다.
+            HistogramSnapshot snapshot = hold.takeSnapshot();
+            double p99 = Double.NaN;
+            for (CountAtBucket bucket : snapshot.histogramCounts()) {
+                if (bucket.count() >= snapshot.count() * 0.99) {
+                    p99 = bucket.bucket(TimeUnit.MILLISECONDS);
+                    break;
+                }
+            }
+            System.out.printf("%nopenInView=%b hold mean=%.3fms p99=%.3fms%n", openInView,
+                    hold.mean(TimeUnit.MILLISECONDS), p99);
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public String list() throws IOException, InterruptedException {
+        int page = ThreadLocalRandom.current().nextInt(DATASET_SIZE / 20);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/members?page=" + page + "&size=20"))
+                .GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
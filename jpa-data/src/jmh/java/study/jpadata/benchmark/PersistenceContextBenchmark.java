@@ -0,0 +1,92 @@
+package study.jpadata.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpadata.persistence.BoundedPersistenceContext;
+import study.jpadata.repository.MemberRepository;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 트랜잭션에서 1M 명을 모두 훑을 때의 시간과 최대 heap 사용량.
+ * findAll 은 전부 1차 캐시에 올리고, bounded 는 threshold 마다 비우며, readOnly 는 스냅샷도 만들지 않는다.
+ * peakHeapMb 는 10,000 건마다 잰 heap used 의 최댓값이다. -prof gc 결과와 함께 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class PersistenceContextBenchmark {
+    private static final int SAMPLE_EVERY = 10_000;
+
+    @Param({"1000000"})
+    int datasetSize;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    BoundedPersistenceContext boundedPersistenceContext;
+    TransactionTemplate tx;
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Heap {
+        public long peakHeapMb;
+        long seen;
+
+        void sample(MemoryMXBean memory) {
+            if (++seen % SAMPLE_EVERY == 0) {
+                peakHeapMb = Math.max(peakHeapMb, memory.getHeapMemoryUsage().getUsed() >> 20);
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            System.gc();
+            peakHeapMb = 0;
+            seen = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--app.persistence-context.warn-threshold=0");
+        BenchmarkContext.seed(context, datasetSize);
+        memberRepository = context.getBean(MemberRepository.class);
+        boundedPersistenceContext = context.getBean(BoundedPersistenceContext.class);
+        tx = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long findAll(Heap heap) {
+        return tx.execute(status -> {
+            long sum = 0;
+            for (var member : memberRepository.findAll()) {
+                sum += member.getAge();
+                heap.sample(memory);
+            }
+            return sum;
+        });
+    }
+
+    @Benchmark
+    public long bounded(Heap heap) {
+        return tx.execute(status -> boundedPersistenceContext.forEach(memberRepository::streamAll,
+                member -> heap.sample(memory)));
+    }
+
+    @Benchmark
+    public long readOnly(Heap heap) {
+        return tx.execute(status -> boundedPersistenceContext.forEachReadOnly(memberRepository::streamAll,
+                member -> heap.sample(memory)));
+    }
+}
@@ -0,0 +1,70 @@
+package study.jpadata.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * hikari maximum-pool-size 에 따른 /members/{id} 처리량. trial 이 끝나면 connection acquire/hold 평균을 함께 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(200)
+public class PoolSizeBenchmark {
+    private static final int DATASET_SIZE = 10_000;
+
+    @Param({"2", "5", "10", "20", "50"})
+    int poolSize;
+
+    ConfigurableApplicationContext context;
+    HttpClient client;
+    String baseUrl;
+    Long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startWeb(
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--spring.datasource.hikari.minimum-idle=" + poolSize,
+                "--spring.datasource.hikari.connection-timeout=30000");
+        BenchmarkContext.seed(context, DATASET_SIZE);
+        EntityManager em = context.getBean(EntityManager.class);
+        ids = context.getBean(TransactionTemplate.class)
+                .execute(status -> em.createQuery("select m.id from Member m", Long.class)
+                        .getResultList()
+                        .toArray(new Long[0]));
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MeterRegistry registry = context.getBean(MeterRegistry.class);
+        Timer acquire = registry.find("jdbc.connection.acquire").tag("uri", "/members/{id}").timer();
+        Timer hold = registry.find("jdbc.connection.hold").tag("uri", "/members/{id}").timer();
+        if (acquire != null && hold != null) {
+            System.out.printf("%npoolSize=%d acquire mean=%.3fms hold mean=%.3fms%n", poolSize,
+                    acquire.mean(TimeUnit.MILLISECONDS), hold.mean(TimeUnit.MILLISECONDS));
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public String findMember() throws IOException, InterruptedException {
+        Long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/members/" + id)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
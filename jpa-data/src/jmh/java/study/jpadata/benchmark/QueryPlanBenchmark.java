@@ -0,0 +1,74 @@
+package study.jpadata.benchmark;
+
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpadata.entity.Member;
+import study.jpadata.repository.MemberJpaRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HQL 한 건의 parse/compile 비용과 plan cache 에서 꺼내는 비용, 그리고 같은 조회를 named query / 문자열 쿼리로 실행한 비용.
+ * compilePlan - cachedPlan 이 호출마다 plan cache 가 아껴 주는 시간이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QueryPlanBenchmark {
+    private static final String HQL = "select m from Member m where m.age = :age" +
+            " and (m.name < :name or (m.name = :name and m.id < :id))" +
+            " order by m.name desc, m.id desc";
+
+    ConfigurableApplicationContext context;
+    SessionFactoryImplementor sessionFactory;
+    MemberJpaRepository memberJpaRepository;
+    EntityManager em;
+    TransactionTemplate tx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, 1000);
+        sessionFactory = context.getBean(EntityManagerFactory.class).unwrap(SessionFactoryImplementor.class);
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        em = context.getBean(EntityManager.class);
+        tx = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public HQLQueryPlan compilePlan() {
+        return new HQLQueryPlan(HQL, false, Collections.emptyMap(), sessionFactory);
+    }
+
+    @Benchmark
+    public HQLQueryPlan cachedPlan() {
+        return sessionFactory.getQueryPlanCache().getHQLQueryPlan(HQL, false, Collections.emptyMap());
+    }
+
+    @Benchmark
+    public List<Member> namedQuery() {
+        return tx.execute(status -> memberJpaRepository.findByPageAfter(10, "member500", 500L, 10));
+    }
+
+    @Benchmark
+    public List<Member> stringQuery() {
+        return tx.execute(status -> em.createQuery(HQL, Member.class)
+                .setParameter("age", 10)
+                .setParameter("name", "member500")
+                .setParameter("id", 500L)
+                .setMaxResults(10)
+                .getResultList());
+    }
+}
@@ -0,0 +1,90 @@
+package study.jpadata.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpadata.reactive.ReactiveMemberRepository;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * /members/{id} (MVC + JPA) 와 /reactive/members/{id} (R2DBC) 의 처리량/p99 와 사용 중인 DB 커넥션 수 비교.
+ * maxConnectionsHeld 는 iteration 동안 샘플링한 풀의 최대 사용 커넥션 수다.
+ * 10k 동시 클라이언트는 -t 10000 (tomcat max-connections/accept-count 를 함께 늘려 둔다).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(1000)
+public class ReactiveEndpointLoadBenchmark {
+    private static final int DATASET_SIZE = 10_000;
+
+    @Param({"/members/", "/reactive/members/"})
+    String path;
+
+    ConfigurableApplicationContext context;
+    HttpClient client;
+    String baseUrl;
+    Long[] ids;
+    HikariDataSource hikari;
+    ReactiveMemberRepository reactiveMemberRepository;
+    final AtomicInteger maxConnectionsHeld = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String database = "bench-" + UUID.randomUUID();
+        context = BenchmarkContext.startWebOn("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "--app.reactive.url=r2dbc:h2:mem:///" + database + "?options=DB_CLOSE_DELAY=-1",
+                "--app.reactive.username=sa",
+                "--server.tomcat.max-connections=20000",
+                "--server.tomcat.accept-count=10000");
+        BenchmarkContext.seed(context, DATASET_SIZE);
+        EntityManager em = context.getBean(EntityManager.class);
+        ids = context.getBean(TransactionTemplate.class)
+                .execute(status -> em.createQuery("select m.id from Member m", Long.class)
+                        .getResultList()
+                        .toArray(new Long[0]));
+        hikari = DataSourceUnwrapper.unwrap(context.getBean(DataSource.class), HikariDataSource.class);
+        reactiveMemberRepository = context.getBean(ReactiveMemberRepository.class);
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportConnections() {
+        System.out.printf("%n%s maxConnectionsHeld=%d%n", path, maxConnectionsHeld.getAndSet(0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String findMember() throws IOException, InterruptedException {
+        Long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path + id)).GET().build();
+        String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        maxConnectionsHeld.accumulateAndGet(connectionsHeld(), Math::max);
+        return body;
+    }
+
+    private int connectionsHeld() {
+        if (path.startsWith("/reactive")) {
+            return reactiveMemberRepository.acquiredConnections();
+        }
+        return hikari != null && hikari.getHikariPoolMXBean() != null ? hikari.getHikariPoolMXBean().getActiveConnections() : 0;
+    }
+}
@@ -0,0 +1,63 @@
+package study.jpadata.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.jpadata.entity.Member;
+import study.jpadata.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * replica 수에 따른 readOnly 조회 처리량. 풀 크기를 작게 잡아 풀이 병목이 되게 하고 replica 가 늘면 풀이 늘어나는 효과를 본다.
+ * in-memory H2 라 replica 는 같은 DB 를 가리키는 별도 풀이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class ReplicaReadBenchmark {
+    private static final int POOL_SIZE = 2;
+    private static final int DATASET_SIZE = 10_000;
+
+    @Param({"0", "1", "2", "4"})
+    int replicas;
+
+    @Param({"round-robin", "least-connections"})
+    String selection;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    long minId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = BenchmarkContext.newDatabaseUrl();
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "--app.datasource.routing.enabled=" + (replicas > 0),
+                "--app.datasource.routing.selection=" + selection,
+                "--app.datasource.routing.read-your-writes-window=0s"));
+        for (int i = 0; i < replicas; i++) {
+            args.add("--app.datasource.routing.replicas[" + i + "].url=" + url);
+            args.add("--app.datasource.routing.replicas[" + i + "].username=sa");
+            args.add("--app.datasource.routing.replicas[" + i + "].maximum-pool-size=" + POOL_SIZE);
+        }
+        context = BenchmarkContext.startOn(url, args.toArray(new String[0]));
+        BenchmarkContext.seed(context, DATASET_SIZE);
+        memberRepository = context.getBean(MemberRepository.class);
+        minId = memberRepository.findAll().stream().mapToLong(Member::getId).min().orElse(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Member findReadOnlyById() {
+        return memberRepository.findReadOnlyById(minId + ThreadLocalRandom.current().nextInt(DATASET_SIZE));
+    }
+}
@@ -0,0 +1,79 @@
+package study.jpadata.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpadata.entity.Member;
+import study.jpadata.entity.Team;
+import study.jpadata.entity.TeamSummary;
+import study.jpadata.repository.MemberRepository;
+import study.jpadata.repository.TeamSummaryRepository;
+
+import javax.persistence.EntityManager;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 팀 통계 조회: member 를 매번 집계(aggregate) vs team_summary 한 행 조회(summary).
+ * insertMember 는 listener 가 커밋마다 더하는 update 한 번의 쓰기 비용이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TeamSummaryBenchmark {
+    @Param({"100000", "1000000"})
+    int datasetSize;
+
+    ConfigurableApplicationContext context;
+    EntityManager em;
+    TeamSummaryRepository teamSummaryRepository;
+    MemberRepository memberRepository;
+    TransactionTemplate tx;
+    Long[] teamIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--app.index-advisor.enabled=false");
+        BenchmarkContext.seed(context, datasetSize);
+        em = context.getBean(EntityManager.class);
+        teamSummaryRepository = context.getBean(TeamSummaryRepository.class);
+        memberRepository = context.getBean(MemberRepository.class);
+        tx = context.getBean(TransactionTemplate.class);
+        teamIds = tx.execute(status -> em.createQuery("select t.id from Team t", Long.class)
+                .getResultList()
+                .toArray(new Long[0]));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object[] aggregate() {
+        return tx.execute(status -> em.createQuery(
+                        "select count(m), sum(m.age), min(m.age), max(m.age) from Member m where m.team.id = :teamId",
+                        Object[].class)
+                .setParameter("teamId", randomTeamId())
+                .getSingleResult());
+    }
+
+    @Benchmark
+    public TeamSummary summary() {
+        return teamSummaryRepository.findById(randomTeamId()).orElseThrow();
+    }
+
+    @Benchmark
+    public Member insertMember() {
+        return tx.execute(status -> {
+            // changeTeam 은 team.members 를 초기화하므로 참조만 건다.
+            Member member = new Member("bench", ThreadLocalRandom.current().nextInt(100));
+            member.setTeam(em.getReference(Team.class, randomTeamId()));
+            return memberRepository.save(member);
+        });
+    }
+
+    private Long randomTeamId() {
+        return teamIds[ThreadLocalRandom.current().nextInt(teamIds.length)];
+    }
+}
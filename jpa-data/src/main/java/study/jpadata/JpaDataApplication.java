@@ -2,24 +2,14 @@ package study.jpadata;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
-import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
-import java.util.Optional;
-import java.util.UUID;
-
 @SpringBootApplication
-@EnableJpaAuditing
+@EnableJpaAuditing(dateTimeProviderRef = "auditingDateTimeProvider")
 public class JpaDataApplication {
 
 	public static void main(String[] args) {
 		SpringApplication.run(JpaDataApplication.class, args);
 	}
 
-	@Bean
-	public AuditorAware<String> auditorAware() {
-		return () -> Optional.of(UUID.randomUUID().toString());
-	}
-
 }
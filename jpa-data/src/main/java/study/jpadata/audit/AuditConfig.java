@@ -0,0 +1,33 @@
+package study.jpadata.audit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+
+@Configuration
+@EnableConfigurationProperties(AuditProperties.class)
+public class AuditConfig {
+
+    @Bean
+    public AuditorAware<String> auditorAware() {
+        return new CachingAuditorAware();
+    }
+
+    @Bean
+    public DateTimeProvider auditingDateTimeProvider() {
+        return () -> Optional.of(CoarseClock.now());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.audit.log", name = "enabled", havingValue = "true")
+    public AuditLogWriter auditLogWriter(JdbcTemplate jdbcTemplate, AuditProperties properties, MeterRegistry registry) {
+        return new AuditLogWriter(jdbcTemplate, properties, registry);
+    }
+}
@@ -0,0 +1,25 @@
+package study.jpadata.audit;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 감사 로그 테이블 매핑. insert 는 AuditLogWriter 가 JDBC batch 로 직접 한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class AuditLog {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "audit_log_id")
+    private Long id;
+    private String entityName;
+    private String entityId;
+    private String action;
+    private String auditor;
+    private LocalDateTime occurredAt;
+}
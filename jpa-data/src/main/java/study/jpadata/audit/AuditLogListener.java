@@ -0,0 +1,84 @@
+package study.jpadata.audit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * app.audit.log.enabled=true 일 때만 AuditLogWriter 가 등록되며, 커밋된 변경만 감사 로그로 넘긴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditLogListener {
+    private final ObjectProvider<AuditLogWriter> writer;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final ObjectProvider<AuditorAware<String>> auditorAware;
+
+    @PostPersist
+    public void postPersist(Object entity) {
+        append(entity, "INSERT");
+    }
+
+    @PostUpdate
+    public void postUpdate(Object entity) {
+        append(entity, "UPDATE");
+    }
+
+    @PostRemove
+    public void postRemove(Object entity) {
+        append(entity, "DELETE");
+    }
+
+    private void append(Object entity, String action) {
+        AuditLogWriter auditLogWriter = writer.getIfAvailable();
+        if (auditLogWriter == null) {
+            return;
+        }
+
+        Object id = entityManagerFactory.getObject().getPersistenceUnitUtil().getIdentifier(entity);
+        AuditRecord record = new AuditRecord(entity.getClass().getSimpleName(), String.valueOf(id), action,
+                auditorAware.getObject().getCurrentAuditor().orElse(null), CoarseClock.now());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            auditLogWriter.append(record);
+            return;
+        }
+        committedRecords(auditLogWriter).records.add(record);
+    }
+
+    // 트랜잭션마다 동기화 하나에 기록을 모은다. getSynchronizations 는 현재 트랜잭션 것만 돌려주므로 REQUIRES_NEW 와 섞이지 않는다.
+    private static CommittedRecords committedRecords(AuditLogWriter auditLogWriter) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof CommittedRecords) {
+                return (CommittedRecords) synchronization;
+            }
+        }
+        CommittedRecords committedRecords = new CommittedRecords(auditLogWriter);
+        TransactionSynchronizationManager.registerSynchronization(committedRecords);
+        return committedRecords;
+    }
+
+    static final class CommittedRecords implements TransactionSynchronization {
+        private final AuditLogWriter auditLogWriter;
+        private final List<AuditRecord> records = new ArrayList<>();
+
+        private CommittedRecords(AuditLogWriter auditLogWriter) {
+            this.auditLogWriter = auditLogWriter;
+        }
+
+        @Override
+        public void afterCommit() {
+            records.forEach(auditLogWriter::append);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package study.jpadata.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 감사 기록을 큐에 모았다가 flushInterval 마다 batchSize 단위 JDBC batch insert 로 내보낸다.
+ * insert 는 항상 writer 스레드에서 한다. append 는 afterCommit 에서 불리는데, 그 스레드에는 이미 커밋된 커넥션이 묶여 있어
+ * 거기서 쓰면 커밋되지 않는다. 같은 이유로 append 는 기다리거나 예외를 던지지 않는다. 데이터는 이미 커밋됐고,
+ * 예외가 나면 남은 afterCommit 동기화(캐시 무효화 등)가 실행되지 않는다. 큐가 가득 차면 writer 를 깨우고 그 기록은 버린 뒤
+ * audit.log.dropped 로 세고 경고는 DROP_LOG_INTERVAL 에 한 번만 남긴다.
+ * 실패한 batch 는 버리지 않고 다음 주기에 다시 쓴다.
+ */
+@Slf4j
+public class AuditLogWriter implements SmartLifecycle {
+    private static final String INSERT_SQL =
+            "insert into audit_log (entity_name, entity_id, action, auditor, occurred_at) values (?, ?, ?, ?, ?)";
+    private static final long DROP_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditProperties properties;
+    private final BlockingQueue<AuditRecord> queue;
+
+    private final List<AuditRecord> pendingBatch = new ArrayList<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Counter dropped;
+    private final AtomicLong lastDropLog = new AtomicLong(System.nanoTime() - DROP_LOG_INTERVAL_NANOS);
+
+    private volatile ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate, AuditProperties properties, MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.dropped = Counter.builder("audit.log.dropped").register(registry);
+    }
+
+    public void append(AuditRecord record) {
+        if (queue.offer(record)) {
+            return;
+        }
+        requestFlush();
+        dropped.increment();
+        long now = System.nanoTime();
+        long last = lastDropLog.get();
+        if (now - last >= DROP_LOG_INTERVAL_NANOS && lastDropLog.compareAndSet(last, now)) {
+            log.warn("audit log queue is full, dropping records (total dropped={})", (long) dropped.count());
+        }
+    }
+
+    /**
+     * 큐가 빌 때까지 내보낸다. 쓰기에 실패하면 그 batch 를 남겨 두고 멈춘다.
+     */
+    public synchronized void flush() {
+        while (true) {
+            if (pendingBatch.isEmpty() && queue.drainTo(pendingBatch, properties.getBatchSize()) == 0) {
+                return;
+            }
+            if (!write(pendingBatch)) {
+                return;
+            }
+            pendingBatch.clear();
+        }
+    }
+
+    private void requestFlush() {
+        ScheduledExecutorService executor = scheduler;
+        if (executor != null && flushRequested.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        }
+    }
+
+    private boolean write(List<AuditRecord> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, record) -> {
+                ps.setString(1, record.getEntityName());
+                ps.setString(2, record.getEntityId());
+                ps.setString(3, record.getAction());
+                ps.setString(4, record.getAuditor());
+                ps.setTimestamp(5, Timestamp.valueOf(record.getOccurredAt()));
+            });
+            return true;
+        } catch (DataAccessException e) {
+            log.error("failed to write {} audit records, will retry", batch.size(), e);
+            return false;
+        }
+    }
+
+    @Override
+    public void start() {
+        long interval = properties.getFlushInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "audit-log-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(properties.getFlushInterval().toMillis() * 10, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        int lost = pendingBatch.size() + queue.size();
+        if (lost > 0) {
+            log.error("{} audit records could not be written before shutdown", lost);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,18 @@
+package study.jpadata.audit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.audit.log")
+public class AuditProperties {
+    // true 이면 엔티티 변경을 audit_log 테이블에 비동기 batch 로 남긴다.
+    private boolean enabled = false;
+    private int batchSize = 500;
+    // 큐가 가득 차면 그 뒤 기록은 버리고 audit.log.dropped 로 센다. flushInterval 동안 쌓이는 양보다 크게 잡는다.
+    private int queueCapacity = 10_000;
+    private Duration flushInterval = Duration.ofMillis(200);
+}
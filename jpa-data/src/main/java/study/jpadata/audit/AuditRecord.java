@@ -0,0 +1,22 @@
+package study.jpadata.audit;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class AuditRecord {
+    private final String entityName;
+    private final String entityId;
+    private final String action;
+    private final String auditor;
+    private final LocalDateTime occurredAt;
+
+    public AuditRecord(String entityName, String entityId, String action, String auditor, LocalDateTime occurredAt) {
+        this.entityName = entityName;
+        this.entityId = entityId;
+        this.action = action;
+        this.auditor = auditor;
+        this.occurredAt = occurredAt;
+    }
+}
@@ -0,0 +1,39 @@
+package study.jpadata.audit;
+
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 요청마다 auditor 를 한 번만 만들어 request attribute 에 보관한다.
+ * 요청 밖(배치, 테스트)에서는 애플리케이션 단위 auditor 하나를 쓴다.
+ * UUID.randomUUID() 의 SecureRandom 대신 ThreadLocalRandom 으로 만든다.
+ */
+public class CachingAuditorAware implements AuditorAware<String> {
+    private static final String ATTRIBUTE = CachingAuditorAware.class.getName() + ".AUDITOR";
+
+    private final String systemAuditor = newAuditor();
+
+    @Override
+    public Optional<String> getCurrentAuditor() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return Optional.of(systemAuditor);
+        }
+        Object auditor = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (auditor == null) {
+            auditor = newAuditor();
+            attributes.setAttribute(ATTRIBUTE, auditor, RequestAttributes.SCOPE_REQUEST);
+        }
+        return Optional.of((String) auditor);
+    }
+
+    private static String newAuditor() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+}
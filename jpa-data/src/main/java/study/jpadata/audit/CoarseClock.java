@@ -0,0 +1,32 @@
+package study.jpadata.audit;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 10ms 마다 갱신되는 시각을 읽기만 하는 시계. 감사 필드처럼 ms 단위 정밀도가 필요 없는 곳에서
+ * LocalDateTime.now() 의 zone 계산과 할당을 매번 하지 않기 위해 사용한다.
+ */
+public final class CoarseClock {
+    public static final long RESOLUTION_MILLIS = 10;
+
+    private static volatile LocalDateTime now = LocalDateTime.now();
+
+    static {
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "coarse-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(() -> now = LocalDateTime.now(), RESOLUTION_MILLIS, RESOLUTION_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private CoarseClock() {
+    }
+
+    public static LocalDateTime now() {
+        return now;
+    }
+}
@@ -0,0 +1,25 @@
+package study.jpadata.cache;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.jpadata.repository.MemberRepository;
+
+@Configuration
+@EnableConfigurationProperties(MemberProjectionCacheProperties.class)
+public class MemberCacheConfig {
+
+    @Bean
+    public MemberProjectionCache memberProjectionCache(MemberRepository memberRepository,
+                                                       MemberProjectionCacheProperties properties) {
+        return new MemberProjectionCache(memberRepository, properties);
+    }
+
+    // /actuator/metrics/cache.gets?tag=cache:memberProjection
+    @Bean
+    public MeterBinder memberProjectionCacheMetrics(MemberProjectionCache memberProjectionCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, memberProjectionCache.nativeCache(), "memberProjection");
+    }
+}
@@ -0,0 +1,18 @@
+package study.jpadata.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.converter.Converter;
+import study.jpadata.dto.MemberDto;
+
+/**
+ * @PathVariable("id") MemberDto 를 DomainClassConverter 대신 MemberProjectionCache 로 해석한다.
+ */
+@RequiredArgsConstructor
+public class MemberDtoConverter implements Converter<String, MemberDto> {
+    private final MemberProjectionCache cache;
+
+    @Override
+    public MemberDto convert(String source) {
+        return cache.get(Long.valueOf(source));
+    }
+}
@@ -0,0 +1,40 @@
+package study.jpadata.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import study.jpadata.dto.MemberDto;
+import study.jpadata.repository.MemberRepository;
+
+/**
+ * id -> MemberDto read-through 캐시(W-TinyLFU). hit 이면 영속성 컨텍스트도 JDBC 도 거치지 않는다.
+ * miss 는 엔티티 대신 DTO projection 한 건을 조회하고, 없는 id 는 캐시하지 않는다.
+ */
+public class MemberProjectionCache {
+    private final MemberRepository memberRepository;
+    private final Cache<Long, MemberDto> cache;
+
+    public MemberProjectionCache(MemberRepository memberRepository, MemberProjectionCacheProperties properties) {
+        this.memberRepository = memberRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+    }
+
+    public MemberDto get(Long id) {
+        return cache.get(id, key -> memberRepository.findMemberDtoById(key).orElse(null));
+    }
+
+    public void evict(Long id) {
+        cache.invalidate(id);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    Cache<Long, MemberDto> nativeCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,47 @@
+package study.jpadata.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.jpadata.entity.Member;
+import study.jpadata.entity.Team;
+
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Member/Team 변경 시 MemberProjectionCache 를 비운다.
+ * flush 시점에 한 번, 커밋 후에 한 번 더 비워서 그 사이 다른 트랜잭션이 이전 값을 다시 채우는 경우를 막는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberProjectionCacheListener {
+    // EntityManagerFactory 생성 중에 만들어지므로 캐시(-> repository -> EMF)는 지연 조회한다.
+    private final ObjectProvider<MemberProjectionCache> cache;
+
+    @PostUpdate
+    @PostRemove
+    public void evict(Object entity) {
+        if (entity instanceof Member) {
+            Long id = ((Member) entity).getId();
+            evictNowAndAfterCompletion(() -> cache.getObject().evict(id));
+        } else if (entity instanceof Team) {
+            // team 이름은 여러 회원의 projection 에 들어 있으므로 전체를 비운다.
+            evictNowAndAfterCompletion(() -> cache.getObject().evictAll());
+        }
+    }
+
+    private void evictNowAndAfterCompletion(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
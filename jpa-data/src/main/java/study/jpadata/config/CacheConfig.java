@@ -0,0 +1,44 @@
+package study.jpadata.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.io.IOException;
+
+/**
+ * 2차 캐시용 JCache(ehcache) CacheManager 를 스프링이 직접 만들어 hibernate 에 넘긴다.
+ * 같은 인스턴스를 써야 region 별 hit/miss/eviction 통계를 metrics 로 노출할 수 있다.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager jCacheManager() throws IOException {
+        return Caching.getCachingProvider(EhcacheCachingProvider.class.getName())
+                .getCacheManager(new ClassPathResource("ehcache.xml").getURI(), getClass().getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager jCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, jCacheManager);
+    }
+
+    // /actuator/metrics/cache.gets, cache.puts, cache.evictions (tag: cache=<region>)
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager jCacheManager) {
+        return registry -> {
+            for (String name : jCacheManager.getCacheNames()) {
+                jCacheManager.enableStatistics(name, true);
+                JCacheMetrics.monitor(registry, jCacheManager.getCache(name));
+            }
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package study.jpadata.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import study.jpadata.cache.MemberDtoConverter;
+import study.jpadata.cache.MemberProjectionCache;
+import study.jpadata.paging.CountMode;
+
+import java.util.Locale;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+    private final MemberProjectionCache memberProjectionCache;
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(new MemberDtoConverter(memberProjectionCache));
+        // ?count=exact 처럼 소문자로 받는다.
+        registry.addConverter(String.class, CountMode.class, source -> CountMode.valueOf(source.trim().toUpperCase(Locale.ROOT)));
+    }
+}
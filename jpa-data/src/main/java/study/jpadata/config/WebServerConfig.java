@@ -0,0 +1,40 @@
+package study.jpadata.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * app.web.virtual-threads=true 이면 tomcat 요청 처리를 virtual thread 에서 실행한다.
+ * 컴파일 타깃은 17 이므로 Java 21 API 는 reflection 으로 찾고, 없으면 기존 스레드 풀을 그대로 쓴다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.web", name = "virtual-threads", havingValue = "true")
+public class WebServerConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            ExecutorService executor = newVirtualThreadPerTaskExecutor();
+            if (executor != null) {
+                protocolHandler.setExecutor(executor);
+            }
+        };
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.warn("virtual threads are not available on Java {}, using the platform thread pool",
+                    Runtime.version().feature());
+            return null;
+        }
+    }
+}
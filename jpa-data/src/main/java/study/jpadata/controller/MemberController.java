@@ -2,48 +2,90 @@ package study.jpadata.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import study.jpadata.dto.CursorPage;
 import study.jpadata.dto.MemberDto;
+import study.jpadata.dto.PageResponse;
 import study.jpadata.entity.Member;
-import study.jpadata.repository.MemberRepository;
+import study.jpadata.paging.CountMode;
+import study.jpadata.paging.PagingProperties;
+import study.jpadata.service.MemberBulkService;
+import study.jpadata.service.MemberExportService;
+import study.jpadata.service.MemberQueryService;
 
 import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
 
 @RestController
 @RequiredArgsConstructor
 @Slf4j
 public class MemberController {
 
-    private final MemberRepository memberRepository;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    private final MemberQueryService memberQueryService;
+    private final MemberBulkService memberBulkService;
+    private final MemberExportService memberExportService;
+    private final PagingProperties pagingProperties;
+
     @GetMapping("/members/{id}")
     public String findMember(@PathVariable("id") Long id) {
-        Member member = memberRepository.findById(id).get();
-        return member.getName();
+        return memberQueryService.findName(id);
     }
 
     @GetMapping("/members2/{id}")
-    public String findMember2(@PathVariable("id") Member member) {
+    public String findMember2(@PathVariable("id") MemberDto member) {
         return member.getName();
     }
 
     @GetMapping("/members")
-    public Page<MemberDto> list(@PageableDefault(size=10, sort="createdDate") Pageable pageable) {
-        Page<Member> page = memberRepository.findAll(pageable);
-        Page<MemberDto> map = page.map(MemberDto::new);
-        return map;
+    public PageResponse<MemberDto> list(@PageableDefault(size=10, sort="createdDate") Pageable pageable,
+                                        @RequestParam(value = "age", required = false) Integer age,
+                                        @RequestParam(value = "count", required = false) CountMode count) {
+        CountMode mode = count != null ? count : pagingProperties.getDefaultCountMode();
+        return memberQueryService.findPage(pageable, age, mode);
+    }
+
+    // 이름 토큰 prefix 검색. ?q=kim min 이면 kim*, min* 토큰을 모두 가진 회원
+    @GetMapping("/members/search")
+    public PageResponse<MemberDto> search(@RequestParam("q") String query,
+                                          @PageableDefault(size=20) Pageable pageable) {
+        return memberQueryService.search(query, pageable);
     }
 
+    @GetMapping("/members/cursor")
+    public CursorPage<MemberDto> listByCursor(@RequestParam(value = "cursor", required = false) String cursor,
+                                              @RequestParam(value = "size", defaultValue = "10") int size) {
+        return memberQueryService.findByCursor(cursor, Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE));
+    }
+
+    @GetMapping("/members/export")
+    public void export(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                       HttpServletResponse response) throws IOException {
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        if ("csv".equalsIgnoreCase(format)) {
+            response.setContentType("text/csv");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=members.csv");
+            memberExportService.exportCsv(response.getWriter());
+            return;
+        }
+        response.setContentType("application/x-ndjson");
+        memberExportService.exportNdjson(response.getWriter());
+    }
 
 //    @PostConstruct
     public void init() {
-        for (int i = 1; i <= 100; i++) {
-            memberRepository.save(new Member("member" + i, i));
-        }
+        memberBulkService.saveAllBatched(
+                IntStream.rangeClosed(1, 100).mapToObj(i -> new Member("member" + i, i)), 100);
     }
 
 }
@@ -0,0 +1,45 @@
+package study.jpadata.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import study.jpadata.dto.MemberDto;
+import study.jpadata.reactive.ReactiveMemberRepository;
+
+/**
+ * MemberController 의 조회 API 를 R2DBC 로 제공한다. 요청 스레드는 쿼리를 기다리지 않고 반환되고,
+ * 결과는 spring mvc 의 비동기 처리로 내려간다. ndjson 으로 요청하면 구독자가 요청한 만큼씩 흘려 보낸다.
+ */
+@RestController
+@RequestMapping("/reactive/members")
+@RequiredArgsConstructor
+public class ReactiveMemberController {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ReactiveMemberRepository reactiveMemberRepository;
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<MemberDto>> findMember(@PathVariable("id") Long id) {
+        return reactiveMemberRepository.findDtoById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<MemberDto> list(@RequestParam(value = "page", defaultValue = "0") int page,
+                                @RequestParam(value = "size", defaultValue = "10") int size) {
+        return reactiveMemberRepository.findDtoPage(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<MemberDto> stream() {
+        return reactiveMemberRepository.streamDto();
+    }
+}
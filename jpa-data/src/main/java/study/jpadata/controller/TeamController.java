@@ -0,0 +1,21 @@
+package study.jpadata.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import study.jpadata.entity.TeamSummary;
+import study.jpadata.repository.TeamSummaryRepository;
+
+@RestController
+@RequiredArgsConstructor
+public class TeamController {
+    private final TeamSummaryRepository teamSummaryRepository;
+
+    // 회원을 집계하지 않고 team_summary 한 행만 읽는다.
+    @GetMapping("/teams/{id}/summary")
+    public ResponseEntity<TeamSummary> summary(@PathVariable("id") Long id) {
+        return ResponseEntity.of(teamSummaryRepository.findById(id));
+    }
+}
@@ -0,0 +1,49 @@
+package study.jpadata.datasource;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * hikari 를 사용하는 DataSource 빈을 ConcurrencyLimitingDataSource 로 감싼다. permit 수는 풀 크기에 맞춘다.
+ * p6spy 등이 먼저 감쌌을 수 있으므로 unwrap 해서 hikari 를 찾는다.
+ * 라우팅 DataSource 는 감싸지 않는다. primary/replica 풀마다 따로 제한한다.
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimitingDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+    private final JdbcLimiterProperties properties;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource)
+                || DataSourceUnwrapper.unwrap((DataSource) bean, ReadWriteRoutingDataSource.class) != null) {
+            return bean;
+        }
+        return limit((DataSource) bean);
+    }
+
+    public DataSource limit(DataSource dataSource) {
+        if (dataSource instanceof ConcurrencyLimitingDataSource) {
+            return dataSource;
+        }
+        HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+        if (hikari == null) {
+            return dataSource;
+        }
+        int maxConcurrency = properties.getMaxConcurrency() > 0
+                ? properties.getMaxConcurrency()
+                : hikari.getMaximumPoolSize();
+        return new ConcurrencyLimitingDataSource(dataSource, maxConcurrency, properties.getAcquireTimeout());
+    }
+
+    // JdbcPoolPostProcessor 의 telemetry 보다 안쪽에서 감싼다.
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+}
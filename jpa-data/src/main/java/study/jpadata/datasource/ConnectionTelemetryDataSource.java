@@ -0,0 +1,104 @@
+package study.jpadata.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 커넥션을 얻기까지 기다린 시간(jdbc.connection.acquire), 빌려 간 뒤 close 까지의 시간(jdbc.connection.hold),
+ * 지금 커넥션을 기다리는 스레드 수(jdbc.connection.waiting) 를 요청 uri 패턴별로 기록한다.
+ * open-in-view 가 켜져 있으면 hold 는 요청이 끝날 때까지의 시간이 된다.
+ */
+public class ConnectionTelemetryDataSource extends DelegatingDataSource {
+    private static final String NO_REQUEST = "none";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<String, AtomicInteger> waiting = new ConcurrentHashMap<>();
+
+    public ConnectionTelemetryDataSource(DataSource targetDataSource, ObjectProvider<MeterRegistry> meterRegistry) {
+        super(targetDataSource);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        String uri = currentUri();
+        AtomicInteger waiters = waiters(uri);
+        long start = System.nanoTime();
+        waiters.incrementAndGet();
+        Connection connection;
+        try {
+            connection = super.getConnection();
+        } finally {
+            waiters.decrementAndGet();
+        }
+        long acquired = System.nanoTime();
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return connection;
+        }
+        timer(registry, "jdbc.connection.acquire", uri).record(acquired - start, TimeUnit.NANOSECONDS);
+        return timed(connection, timer(registry, "jdbc.connection.hold", uri), acquired);
+    }
+
+    private AtomicInteger waiters(String uri) {
+        return waiting.computeIfAbsent(uri, key -> {
+            AtomicInteger counter = new AtomicInteger();
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry != null) {
+                Gauge.builder("jdbc.connection.waiting", counter, AtomicInteger::get)
+                        .tag("uri", key)
+                        .register(registry);
+            }
+            return counter;
+        });
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String uri) {
+        return Timer.builder(name)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Connection timed(Connection connection, Timer hold, long acquired) {
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && closed.compareAndSet(false, true)) {
+                        hold.record(System.nanoTime() - acquired, TimeUnit.NANOSECONDS);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    private static String currentUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return NO_REQUEST;
+        }
+        Object pattern = attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+}
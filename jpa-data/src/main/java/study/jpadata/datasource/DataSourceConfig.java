@@ -0,0 +1,63 @@
+package study.jpadata.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+public class DataSourceConfig {
+
+    // BeanPostProcessor 는 일찍 만들어지므로 properties 빈 대신 Environment 에서 직접 바인딩한다.
+    @Bean
+    @ConditionalOnProperty(prefix = "app.jdbc.limiter", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public static ConcurrencyLimitingDataSourcePostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment) {
+        JdbcLimiterProperties properties = Binder.get(environment)
+                .bind("app.jdbc.limiter", JdbcLimiterProperties.class)
+                .orElseGet(JdbcLimiterProperties::new);
+        return new ConcurrencyLimitingDataSourcePostProcessor(properties);
+    }
+
+    @Bean
+    public static JdbcPoolPostProcessor jdbcPoolPostProcessor(Environment environment,
+                                                              ObjectProvider<MeterRegistry> meterRegistry) {
+        JdbcPoolProperties properties = Binder.get(environment)
+                .bind("app.jdbc.pool", JdbcPoolProperties.class)
+                .orElseGet(JdbcPoolProperties::new);
+        return new JdbcPoolPostProcessor(properties, meterRegistry);
+    }
+
+    // jdbc.limiter.available: 남은 permit, jdbc.limiter.queued: permit 을 기다리는 스레드 수
+    @Bean
+    @ConditionalOnProperty(prefix = "app.jdbc.limiter", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public MeterBinder jdbcLimiterMetrics(DataSource dataSource) {
+        return registry -> {
+            ConcurrencyLimitingDataSource limiter = unwrapLimiter(dataSource);
+            if (limiter == null) {
+                return;
+            }
+            Gauge.builder("jdbc.limiter.available", limiter, ConcurrencyLimitingDataSource::availablePermits)
+                    .register(registry);
+            Gauge.builder("jdbc.limiter.queued", limiter, ConcurrencyLimitingDataSource::queueLength)
+                    .register(registry);
+        };
+    }
+
+    private static ConcurrencyLimitingDataSource unwrapLimiter(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(ConcurrencyLimitingDataSource.class)
+                    ? dataSource.unwrap(ConcurrencyLimitingDataSource.class)
+                    : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package study.jpadata.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class DataSourceRoutingProperties {
+    private boolean enabled = false;
+    private ReplicaSelection selection = ReplicaSelection.ROUND_ROBIN;
+    // 쓰기 트랜잭션 커밋 후 이 시간 동안은 같은 스레드의 읽기도 primary 로 보낸다. 다음 요청까지 보장하지는 않는다(best-effort).
+    private Duration readYourWritesWindow = Duration.ofSeconds(1);
+    private List<Replica> replicas = new ArrayList<>();
+
+    public enum ReplicaSelection {
+        ROUND_ROBIN,
+        LEAST_CONNECTIONS
+    }
+
+    @Getter @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,16 @@
+package study.jpadata.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.jdbc.limiter")
+public class JdbcLimiterProperties {
+    private boolean enabled = true;
+    // 0 이면 hikari maximum-pool-size 를 따른다.
+    private int maxConcurrency = 0;
+    private Duration acquireTimeout = Duration.ofSeconds(3);
+}
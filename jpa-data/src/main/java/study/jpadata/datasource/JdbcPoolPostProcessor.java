@@ -0,0 +1,53 @@
+package study.jpadata.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * hikari 풀 크기를 코어 수에 맞추고(app.jdbc.pool.auto-size), 애플리케이션이 쓰는 dataSource 빈을 ConnectionTelemetryDataSource 로 감싼다.
+ * 크기는 풀이 시작되기 전(초기화 전)에 정해야 limiter 의 permit 수도 같은 값을 본다.
+ * telemetry 는 가장 바깥에서 감싸야 limiter 대기 시간까지 acquire 에 들어가므로 가장 늦게 실행한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JdbcPoolPostProcessor implements BeanPostProcessor, Ordered {
+    private static final String APPLICATION_DATA_SOURCE = "dataSource";
+
+    private final JdbcPoolProperties properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource && properties.isAutoSize()) {
+            HikariDataSource hikari = (HikariDataSource) bean;
+            int size = properties.autoPoolSize(Runtime.getRuntime().availableProcessors());
+            log.info("hikari pool {} maximum-pool-size {} -> {}", hikari.getPoolName(), hikari.getMaximumPoolSize(), size);
+            hikari.setMaximumPoolSize(size);
+            if (hikari.getMinimumIdle() > size) {
+                hikari.setMinimumIdle(size);
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (properties.isTelemetry() && APPLICATION_DATA_SOURCE.equals(beanName) && bean instanceof DataSource
+                && !(bean instanceof ConnectionTelemetryDataSource)) {
+            return new ConnectionTelemetryDataSource((DataSource) bean, meterRegistry);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,20 @@
+package study.jpadata.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.jdbc.pool")
+public class JdbcPoolProperties {
+    // true 면 maximum-pool-size 를 cores * connectionsPerCore + effectiveSpindleCount 로 정한다.
+    private boolean autoSize = false;
+    private int connectionsPerCore = 2;
+    private int effectiveSpindleCount = 1;
+    // jdbc.connection.acquire / hold / waiting
+    private boolean telemetry = true;
+
+    public int autoPoolSize(int cores) {
+        return cores * connectionsPerCore + effectiveSpindleCount;
+    }
+}
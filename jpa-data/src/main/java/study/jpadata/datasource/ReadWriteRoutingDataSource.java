@@ -0,0 +1,117 @@
+package study.jpadata.datasource;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.jpadata.datasource.DataSourceRoutingProperties.ReplicaSelection;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * readOnly 트랜잭션은 replica 로, 나머지는 primary 로 보낸다.
+ * 트랜잭션 속성은 커넥션을 실제로 얻을 때 결정되어 있어야 하므로 LazyConnectionDataSourceProxy 로 감싸서 사용한다.
+ * 쓰기 트랜잭션이 커밋된 스레드는 readYourWritesWindow 동안 primary 에 붙어 있어 방금 쓴 값을 replica 지연 없이 읽는다.
+ * 이 보장은 스레드 단위라 best-effort 다. 같은 요청 안의 이후 읽기에만 적용되고, 같은 클라이언트의 다음 요청은
+ * 다른 worker 스레드에서 처리되면 지연된 replica 를 읽을 수 있다. 요청을 넘어 일관성이 필요한 읽기는 쓰기 트랜잭션(readOnly 아님)으로 한다.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final Map<String, DataSource> replicas = new HashMap<>();
+    private final ReplicaSelection selection;
+    private final long readYourWritesWindowNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ThreadLocal<Long> primaryUntil = new ThreadLocal<>();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                      ReplicaSelection selection, Duration readYourWritesWindow) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            replicaKeys.add(key);
+            this.replicas.put(key, replicas.get(i));
+            targets.put(key, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.selection = selection;
+        this.readYourWritesWindowNanos = readYourWritesWindow.toNanos();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            stickToPrimaryAfterCommit();
+            return PRIMARY;
+        }
+        if (replicaKeys.isEmpty() || stickingToPrimary()) {
+            return PRIMARY;
+        }
+        return selection == ReplicaSelection.LEAST_CONNECTIONS ? leastConnections() : roundRobin();
+    }
+
+    private void stickToPrimaryAfterCommit() {
+        if (readYourWritesWindowNanos <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                primaryUntil.set(System.nanoTime() + readYourWritesWindowNanos);
+            }
+        });
+    }
+
+    private boolean stickingToPrimary() {
+        Long until = primaryUntil.get();
+        if (until == null) {
+            return false;
+        }
+        if (System.nanoTime() - until < 0) {
+            return true;
+        }
+        primaryUntil.remove();
+        return false;
+    }
+
+    private String roundRobin() {
+        return replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+    }
+
+    private String leastConnections() {
+        String best = null;
+        int bestActive = Integer.MAX_VALUE;
+        // 같은 값이면 앞쪽 replica 로 몰리지 않도록 round-robin 위치부터 훑는다.
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicaKeys.size(); i++) {
+            String key = replicaKeys.get(Math.floorMod(start + i, replicaKeys.size()));
+            int active = activeConnections(replicas.get(key));
+            if (active < bestActive) {
+                best = key;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+
+    private static int activeConnections(DataSource dataSource) {
+        HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+        HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+        return pool != null ? pool.getActiveConnections() : 0;
+    }
+}
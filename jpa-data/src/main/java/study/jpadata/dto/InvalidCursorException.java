@@ -0,0 +1,14 @@
+package study.jpadata.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 클라이언트가 보낸 커서를 해석할 수 없을 때 던진다. 요청 오류이므로 400 으로 응답한다.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends IllegalArgumentException {
+    public InvalidCursorException(String token, Throwable cause) {
+        super("invalid cursor: " + token, cause);
+    }
+}
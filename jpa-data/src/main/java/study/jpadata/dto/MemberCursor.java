@@ -0,0 +1,49 @@
+package study.jpadata.dto;
+
+import lombok.Getter;
+import study.jpadata.entity.Member;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 마지막으로 읽은 (createdDate, id) 를 담는 keyset 페이징 커서.
+ * 클라이언트에는 불투명한 문자열로만 노출한다.
+ */
+@Getter
+public class MemberCursor {
+    private static final String DELIMITER = "|";
+
+    private final LocalDateTime createdDate;
+    private final Long id;
+
+    public MemberCursor(LocalDateTime createdDate, Long id) {
+        this.createdDate = createdDate;
+        this.id = id;
+    }
+
+    // createdDate 와 id 는 persist 시점에 채워진다. 비어 있으면 다음 페이지 조건을 만들 수 없으므로 거부한다.
+    public static MemberCursor of(Member member) {
+        if (member.getCreatedDate() == null || member.getId() == null) {
+            throw new IllegalArgumentException("member has no createdDate or id: " + member.getId());
+        }
+        return new MemberCursor(member.getCreatedDate(), member.getId());
+    }
+
+    public String encode() {
+        String raw = createdDate + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MemberCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(DELIMITER);
+            return new MemberCursor(LocalDateTime.parse(raw.substring(0, index)), Long.valueOf(raw.substring(index + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException(token, e);
+        }
+    }
+}
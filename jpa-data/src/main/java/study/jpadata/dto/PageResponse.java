@@ -0,0 +1,29 @@
+package study.jpadata.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Page 대신 내려주는 응답. totalExact 가 false 면 totalElements/totalPages 는 캐시되었거나 통계로 추정한 값이다.
+ */
+@Getter
+public class PageResponse<T> {
+    private final List<T> content;
+    private final int page;
+    private final int size;
+    private final boolean hasNext;
+    private final long totalElements;
+    private final int totalPages;
+    private final boolean totalExact;
+
+    public PageResponse(List<T> content, int page, int size, boolean hasNext, long totalElements, boolean totalExact) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.totalElements = totalElements;
+        this.totalPages = size == 0 ? 1 : (int) Math.ceil((double) totalElements / size);
+        this.totalExact = totalExact;
+    }
+}
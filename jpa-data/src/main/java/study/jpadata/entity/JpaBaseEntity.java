@@ -3,6 +3,7 @@ package study.jpadata.entity;
 
 import lombok.Data;
 import lombok.Getter;
+import study.jpadata.audit.CoarseClock;
 
 import javax.persistence.Column;
 import javax.persistence.MappedSuperclass;
@@ -20,13 +21,13 @@ public class JpaBaseEntity {
     @PrePersist
     public void prePersist() {
         // createdAt 과 updatedAt 을 동일하게 맞춰놓으면 등록한 다음 한번도 수정되지 않았다는 사실을 알 수 있다.
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = CoarseClock.now();
         createdAt = now;
         updatedAt = now;
     }
 
     @PreUpdate
     public void preUpdate() {
-        updatedAt = LocalDateTime.now();
+        updatedAt = CoarseClock.now();
     }
 }
@@ -1,19 +1,58 @@
 package study.jpadata.entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import study.jpadata.cache.MemberProjectionCacheListener;
 
 import javax.persistence.*;
 
 @Entity
+// (name, age): 이름 + 나이 조건, 이름 in 조회 / (age, name, id): 나이별 이름순 페이징과 keyset / (createdDate, id): 등록순 목록과 커서
+// (team_id, age): team_summary 의 팀별 최소/최대 재계산
+@Table(indexes = {
+        @Index(name = "idx_member_name_age", columnList = "name, age"),
+        @Index(name = "idx_member_age_name", columnList = "age, name, member_id"),
+        @Index(name = "idx_member_created_date", columnList = "createdDate, member_id"),
+        @Index(name = "idx_member_team_age", columnList = "team_id, age")
+})
+// MemberJpaRepository / MemberRepositoryCustomImpl 용. 기동 시 한 번 검증/파싱되고 plan cache 에서 재사용된다.
+// spring data 가 메서드 이름으로 찾는 Member.{메서드명} 과 겹치지 않게 이름을 짓는다.
+@NamedQueries({
+        @NamedQuery(name = "Member.findAllMembers", query = "select m from Member m"),
+        @NamedQuery(name = "Member.countMembers", query = "select count(m) from Member m"),
+        @NamedQuery(name = "Member.findByNameAndAgeOver",
+                query = "select m from Member m where m.name = :name and m.age > :age"),
+        @NamedQuery(name = "Member.findByNameIn", query = "select m from Member m where m.name in :names"),
+        @NamedQuery(name = "Member.findByAgeOrderByName",
+                query = "select m from Member m where m.age = :age order by m.name desc"),
+        @NamedQuery(name = "Member.findByAgeFirstKeyset",
+                query = "select m from Member m where m.age = :age order by m.name desc, m.id desc"),
+        @NamedQuery(name = "Member.findByAgeAfterKeyset",
+                query = "select m from Member m where m.age = :age" +
+                        " and (m.name < :name or (m.name = :name and m.id < :id))" +
+                        " order by m.name desc, m.id desc"),
+        @NamedQuery(name = "Member.totalCountByAge", query = "select count(m) from Member m where m.age = :age"),
+        @NamedQuery(name = "Member.bulkAgePlusFrom",
+                query = "update Member m set m.age = m.age + 1, m.version = m.version + 1 where m.age >= :age")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners(MemberProjectionCacheListener.class)
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name", "age"})
 public class Member extends BaseEntity{
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 50)
     @Column(name = "member_id")
     private Long id;
     private String name;
     private int age;
+    @Version
+    @Setter(AccessLevel.NONE)
+    private Long version;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
@@ -36,6 +75,14 @@ public class Member extends BaseEntity{
         }
     }
 
+    // 대량 등록용. 연관관계 주인(team)만 채우고 Team.members 에는 넣지 않는다.
+    // MemberBulkService 가 중간에 clear 하면 members 가 detached 라 지연 로딩이 실패하고, 같은 트랜잭션에서 만든 팀이면 members 가 끝없이 커진다.
+    public static Member forBulkInsert(String name, int age, Team team) {
+        Member member = new Member(name, age);
+        member.team = team;
+        return member;
+    }
+
     public void changeTeam(Team team) {
         this.team = team;
         team.getMembers().add(this);
@@ -0,0 +1,29 @@
+package study.jpadata.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.*;
+
+/**
+ * Member.name 을 토큰으로 나눈 검색 인덱스. MemberNameIndexListener 가 JDBC 로 채우고 searchByName 이 (token, member_id) 인덱스로 prefix 검색한다.
+ */
+@Entity
+@Immutable
+@Table(indexes = {
+        @Index(name = "idx_member_name_token", columnList = "token, member_id", unique = true),
+        @Index(name = "idx_member_name_token_member", columnList = "member_id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class MemberNameToken {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "member_name_token_id")
+    private Long id;
+    @Column(length = 64, nullable = false)
+    private String token;
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+}
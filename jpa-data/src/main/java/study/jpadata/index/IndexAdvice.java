@@ -0,0 +1,15 @@
+package study.jpadata.index;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class IndexAdvice {
+    private final String method;
+    private final String sql;
+    private final String plan;
+    private final boolean tableScan;
+}
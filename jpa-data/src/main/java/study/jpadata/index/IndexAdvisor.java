@@ -0,0 +1,194 @@
+package study.jpadata.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * 개발 환경 기동 시 repository 의 @Query / 메서드 이름 쿼리를 SQL 로 바꿔 EXPLAIN 하고,
+ * where 조건이 있는데 인덱스 없이 테이블을 훑는 쿼리를 경고한다. EXPLAIN 출력 형식 때문에 H2 에서만 동작한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.index-advisor", name = "enabled", havingValue = "true")
+public class IndexAdvisor {
+    private static final String TABLE_SCAN = ".tableScan";
+
+    private final ApplicationContext applicationContext;
+    private final SessionFactoryImplementor sessionFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public IndexAdvisor(ApplicationContext applicationContext, EntityManagerFactory entityManagerFactory,
+                        JdbcTemplate jdbcTemplate) {
+        this.applicationContext = applicationContext;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void adviseOnStartup() {
+        if (!"H2".equalsIgnoreCase(databaseProductName())) {
+            log.info("index advisor supports H2 only, skipped");
+            return;
+        }
+        for (IndexAdvice advice : advise()) {
+            if (advice.isTableScan()) {
+                log.warn("index advisor: {} scans a table without an index\n  sql: {}\n  plan: {}",
+                        advice.getMethod(), advice.getSql(), advice.getPlan());
+            }
+        }
+    }
+
+    public List<IndexAdvice> advise() {
+        List<IndexAdvice> advices = new ArrayList<>();
+        Repositories repositories = new Repositories(applicationContext);
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            for (Method method : information.getQueryMethods()) {
+                String jpql = jpql(method, domainType);
+                if (jpql == null) {
+                    continue;
+                }
+                String name = information.getRepositoryInterface().getSimpleName() + "#" + method.getName();
+                try {
+                    for (String sql : sessionFactory.getQueryPlanCache()
+                            .getHQLQueryPlan(jpql, false, Collections.emptyMap()).getSqlStrings()) {
+                        if (sql.toLowerCase().contains(" where ")) {
+                            advices.add(explain(name, sql));
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    log.debug("index advisor could not explain {}: {}", name, jpql, e);
+                }
+            }
+        }
+        return advices;
+    }
+
+    private IndexAdvice explain(String method, String sql) {
+        String plan = jdbcTemplate.query("explain " + sql, (PreparedStatement ps) -> {
+            // 실행 계획은 값과 상관없이 prepare 시점에 정해지므로 파라미터는 null 로 채운다.
+            int count = ps.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= count; i++) {
+                ps.setObject(i, null);
+            }
+        }, (ResultSet rs) -> rs.next() ? rs.getString(1) : "");
+        return new IndexAdvice(method, sql, plan, plan != null && plan.contains(TABLE_SCAN));
+    }
+
+    private String jpql(Method method, Class<?> domainType) {
+        if (AnnotatedElementUtils.hasAnnotation(method, Modifying.class)) {
+            return null;
+        }
+        Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+        if (query != null) {
+            return query.nativeQuery() || query.value().isEmpty() ? null : query.value();
+        }
+        try {
+            return derivedJpql(new PartTree(method.getName(), domainType), domainType);
+        } catch (RuntimeException e) {
+            // named query 등 메서드 이름으로 해석되지 않는 경우
+            return null;
+        }
+    }
+
+    // 메서드 이름 쿼리를 같은 조건의 JPQL 로 옮긴다. 지원하지 않는 조건이 있으면 건너뛴다.
+    private String derivedJpql(PartTree tree, Class<?> domainType) {
+        if (tree.isDelete() || !tree.getParts().iterator().hasNext()) {
+            return null;
+        }
+        String entity = sessionFactory.getMetamodel().entity(domainType).getName();
+        StringJoiner or = new StringJoiner(" or ");
+        int parameter = 0;
+        for (PartTree.OrPart orPart : tree) {
+            StringJoiner and = new StringJoiner(" and ");
+            for (Part part : orPart) {
+                String path = "x." + part.getProperty().toDotPath();
+                String condition = condition(part.getType(), path, parameter);
+                if (condition == null) {
+                    return null;
+                }
+                and.add(condition);
+                parameter += part.getNumberOfArguments();
+            }
+            or.add("(" + and + ")");
+        }
+        String select = tree.isCountProjection() ? "select count(x)" : "select x";
+        StringBuilder jpql = new StringBuilder(select).append(" from ").append(entity).append(" x where ").append(or);
+        Sort sort = tree.getSort();
+        if (sort.isSorted()) {
+            StringJoiner orderBy = new StringJoiner(", ", " order by ", "");
+            sort.forEach(order -> orderBy.add("x." + order.getProperty() + " " + order.getDirection().name().toLowerCase()));
+            jpql.append(orderBy);
+        }
+        return jpql.toString();
+    }
+
+    private static String condition(Part.Type type, String path, int parameter) {
+        String p = ":p" + parameter;
+        switch (type) {
+            case SIMPLE_PROPERTY:
+                return path + " = " + p;
+            case NEGATING_SIMPLE_PROPERTY:
+                return path + " <> " + p;
+            case GREATER_THAN:
+            case AFTER:
+                return path + " > " + p;
+            case GREATER_THAN_EQUAL:
+                return path + " >= " + p;
+            case LESS_THAN:
+            case BEFORE:
+                return path + " < " + p;
+            case LESS_THAN_EQUAL:
+                return path + " <= " + p;
+            case BETWEEN:
+                return path + " between " + p + " and :p" + (parameter + 1);
+            case IN:
+                return path + " in " + p;
+            case LIKE:
+            case STARTING_WITH:
+            case ENDING_WITH:
+            case CONTAINING:
+                return path + " like " + p;
+            case IS_NULL:
+                return path + " is null";
+            case IS_NOT_NULL:
+                return path + " is not null";
+            default:
+                return null;
+        }
+    }
+
+    private String databaseProductName() {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(), "getDatabaseProductName");
+        } catch (MetaDataAccessException | DataAccessException e) {
+            return "";
+        }
+    }
+}
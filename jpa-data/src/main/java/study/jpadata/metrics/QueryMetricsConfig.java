@@ -0,0 +1,61 @@
+package study.jpadata.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.persistence.EntityManagerFactory;
+
+@Configuration
+@EnableConfigurationProperties(QueryMetricsProperties.class)
+public class QueryMetricsConfig {
+
+    @Bean
+    public StatementCounter statementCounter() {
+        return new StatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer(StatementCounter statementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+    }
+
+    @Bean
+    public MeterBinder statementCounterMetrics(StatementCounter statementCounter) {
+        return registry -> FunctionCounter.builder("jdbc.statements", statementCounter, StatementCounter::total)
+                .register(registry);
+    }
+
+    // /actuator/metrics/hibernate.query.plan.cache.hit.ratio
+    @Bean
+    public QueryPlanCacheMetrics queryPlanCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return new QueryPlanCacheMetrics(entityManagerFactory.unwrap(SessionFactoryImplementor.class));
+    }
+
+    @Bean
+    public SlowQueryLog slowQueryLog(QueryMetricsProperties properties) {
+        return new SlowQueryLog(properties.getSlowQuerySamples());
+    }
+
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(SlowQueryLog slowQueryLog) {
+        return new SlowQueryEndpoint(slowQueryLog);
+    }
+
+    @Bean
+    public RepositoryMetricsAspect repositoryMetricsAspect(MeterRegistry registry, StatementCounter statementCounter,
+                                                           SlowQueryLog slowQueryLog, QueryMetricsProperties properties) {
+        return new RepositoryMetricsAspect(registry, statementCounter, slowQueryLog, properties);
+    }
+
+    @Bean
+    public StatementCountFilter statementCountFilter(MeterRegistry registry, StatementCounter statementCounter) {
+        return new StatementCountFilter(registry, statementCounter);
+    }
+}
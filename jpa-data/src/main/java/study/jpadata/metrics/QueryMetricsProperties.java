@@ -0,0 +1,14 @@
+package study.jpadata.metrics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.metrics")
+public class QueryMetricsProperties {
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+    private int slowQuerySamples = 100;
+}
@@ -0,0 +1,62 @@
+package study.jpadata.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * hibernate query plan cache 적중률과 항목 수. 적중/미스 횟수 자체는 spring boot 의 hibernate.* metrics 에 있다.
+ * 적중률은 generate_statistics 가 꺼져 있으면(prod) NaN 이다.
+ * 항목 수는 공개 API 가 없어 내부 캐시를 reflection 으로 읽고, 못 읽으면 NaN 이다.
+ */
+public class QueryPlanCacheMetrics implements MeterBinder {
+    private final SessionFactoryImplementor sessionFactory;
+
+    public QueryPlanCacheMetrics(SessionFactoryImplementor sessionFactory) {
+        this.sessionFactory = sessionFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = sessionFactory.getStatistics();
+        Gauge.builder("hibernate.query.plan.cache.hit.ratio", statistics, QueryPlanCacheMetrics::hitRatio)
+                .register(registry);
+        Gauge.builder("hibernate.query.plan.cache.entries", sessionFactory.getQueryPlanCache(), cache -> entries(cache, "queryPlanCache"))
+                .tag("cache", "plan")
+                .register(registry);
+        Gauge.builder("hibernate.query.plan.cache.entries", sessionFactory.getQueryPlanCache(), cache -> entries(cache, "parameterMetadataCache"))
+                .tag("cache", "parameterMetadata")
+                .register(registry);
+    }
+
+    private static double hitRatio(Statistics statistics) {
+        long hits = statistics.getQueryPlanCacheHitCount();
+        long total = hits + statistics.getQueryPlanCacheMissCount();
+        return total == 0 ? Double.NaN : (double) hits / total;
+    }
+
+    static double entries(QueryPlanCache queryPlanCache, String fieldName) {
+        try {
+            Field field = QueryPlanCache.class.getDeclaredField(fieldName);
+            field.setAccessible(true);
+            Object cache = field.get(queryPlanCache);
+            for (String size : new String[]{"heldElementsEstimate", "size"}) {
+                try {
+                    Method method = cache.getClass().getMethod(size);
+                    return ((Number) method.invoke(cache)).doubleValue();
+                } catch (NoSuchMethodException ignored) {
+                    // 다음 후보
+                }
+            }
+        } catch (ReflectiveOperationException | RuntimeException ignored) {
+            // hibernate 버전에 따라 필드가 없을 수 있다.
+        }
+        return Double.NaN;
+    }
+}
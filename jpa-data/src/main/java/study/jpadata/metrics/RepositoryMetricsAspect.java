@@ -0,0 +1,110 @@
+package study.jpadata.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * repository 메서드별 latency histogram(repository.invocations) 과 반환 row 수(repository.rows) 를 기록한다.
+ * threshold 를 넘는 호출은 마지막으로 실행된 SQL 과 함께 SlowQueryLog 에 남긴다.
+ */
+@Aspect
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+    private final MeterRegistry registry;
+    private final StatementCounter statementCounter;
+    private final SlowQueryLog slowQueryLog;
+    private final QueryMetricsProperties properties;
+
+    private final Map<Class<?>, Map<Method, Meters>> meters = new ConcurrentHashMap<>();
+
+    @Around("execution(* study.jpadata.repository..*.*(..)) && !within(study.jpadata.repository..*Impl)")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Meters meters = meters(joinPoint);
+            meters.latency.record(elapsed, TimeUnit.NANOSECONDS);
+
+            long rows = rows(result);
+            if (rows >= 0) {
+                meters.rows.record(rows);
+            }
+
+            if (elapsed >= properties.getSlowQueryThreshold().toNanos()) {
+                slowQueryLog.record(new SlowQuery(meters.repository, meters.method,
+                        TimeUnit.NANOSECONDS.toMillis(elapsed), statementCounter.lastStatement(), Instant.now()));
+            }
+        }
+    }
+
+    private Meters meters(ProceedingJoinPoint joinPoint) {
+        Object repository = joinPoint.getThis();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return meters.computeIfAbsent(repository.getClass(), key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, key -> new Meters(registry, repositoryName(repository), method.getName()));
+    }
+
+    // spring data repository 는 JDK proxy 이므로 우리가 선언한 인터페이스 이름을 찾는다.
+    private static String repositoryName(Object repository) {
+        for (Class<?> type : repository.getClass().getInterfaces()) {
+            if (type.getPackageName().startsWith("study.jpadata.repository")) {
+                return type.getSimpleName();
+            }
+        }
+        return ClassUtils.getUserClass(repository).getSimpleName();
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+
+    private static final class Meters {
+        private final String repository;
+        private final String method;
+        private final Timer latency;
+        private final DistributionSummary rows;
+
+        private Meters(MeterRegistry registry, String repository, String method) {
+            this.repository = repository;
+            this.method = method;
+            this.latency = Timer.builder("repository.invocations")
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.rows = DistributionSummary.builder("repository.rows")
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package study.jpadata.metrics;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+public class SlowQuery {
+    private final String repository;
+    private final String method;
+    private final long elapsedMillis;
+    private final String lastStatement;
+    private final Instant occurredAt;
+
+    public SlowQuery(String repository, String method, long elapsedMillis, String lastStatement, Instant occurredAt) {
+        this.repository = repository;
+        this.method = method;
+        this.elapsedMillis = elapsedMillis;
+        this.lastStatement = lastStatement;
+        this.occurredAt = occurredAt;
+    }
+}
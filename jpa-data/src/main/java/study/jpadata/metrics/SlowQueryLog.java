@@ -0,0 +1,36 @@
+package study.jpadata.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 최근 느린 쿼리 샘플을 고정 크기 ring buffer 에 덮어쓰며 보관한다. 기록 시 락을 잡지 않는다.
+ */
+public class SlowQueryLog {
+    private final AtomicReferenceArray<SlowQuery> samples;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public SlowQueryLog(int capacity) {
+        this.samples = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void record(SlowQuery slowQuery) {
+        int index = (int) (sequence.getAndIncrement() % samples.length());
+        samples.set(index, slowQuery);
+    }
+
+    public List<SlowQuery> samples() {
+        List<SlowQuery> result = new ArrayList<>(samples.length());
+        for (int i = 0; i < samples.length(); i++) {
+            SlowQuery slowQuery = samples.get(i);
+            if (slowQuery != null) {
+                result.add(slowQuery);
+            }
+        }
+        result.sort(Comparator.comparing(SlowQuery::getOccurredAt).reversed());
+        return result;
+    }
+}
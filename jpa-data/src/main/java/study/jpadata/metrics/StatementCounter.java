@@ -0,0 +1,46 @@
+package study.jpadata.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * hibernate 가 prepare 하는 SQL 을 센다. SQL 을 포맷하거나 로그로 남기지 않으므로 운영에서도 켜 둘 수 있다.
+ * 스레드별 카운터는 HTTP 요청 단위 집계에, 전체 카운터는 metrics 노출에 쓴다.
+ */
+public class StatementCounter implements StatementInspector {
+    private final ThreadLocal<State> current = ThreadLocal.withInitial(State::new);
+    private final LongAdder total = new LongAdder();
+
+    @Override
+    public String inspect(String sql) {
+        State state = current.get();
+        state.count++;
+        state.lastStatement = sql;
+        total.increment();
+        return sql;
+    }
+
+    public void reset() {
+        State state = current.get();
+        state.count = 0;
+        state.lastStatement = null;
+    }
+
+    public long count() {
+        return current.get().count;
+    }
+
+    public String lastStatement() {
+        return current.get().lastStatement;
+    }
+
+    public long total() {
+        return total.sum();
+    }
+
+    private static final class State {
+        private long count;
+        private String lastStatement;
+    }
+}
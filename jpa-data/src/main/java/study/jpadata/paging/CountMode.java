@@ -0,0 +1,10 @@
+package study.jpadata.paging;
+
+public enum CountMode {
+    // 매번 count 쿼리
+    EXACT,
+    // 필터별로 TTL 동안 count 결과 재사용
+    CACHED,
+    // 테이블 통계의 row 추정치. 필터가 있으면 CACHED 로 동작한다.
+    APPROXIMATE
+}
@@ -0,0 +1,80 @@
+package study.jpadata.paging;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import study.jpadata.dto.PageResponse;
+
+import java.util.OptionalLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Slice 로 한 페이지만 읽고 total 은 모드에 따라 채운다.
+ * 마지막 페이지면 offset + content 크기가 곧 total 이므로 count 쿼리를 생략한다.
+ */
+@Component
+@EnableConfigurationProperties(PagingProperties.class)
+public class PageTotals {
+    private final TableRowEstimator tableRowEstimator;
+    private final Cache<String, Long> totals;
+
+    public PageTotals(TableRowEstimator tableRowEstimator, PagingProperties properties) {
+        this.tableRowEstimator = tableRowEstimator;
+        this.totals = Caffeine.newBuilder()
+                .maximumSize(properties.getTotalCacheMaximumSize())
+                .expireAfterWrite(properties.getTotalCacheTtl())
+                .build();
+    }
+
+    /**
+     * @param filterKey   total 캐시 키. 같은 조건이면 같은 키를 넘긴다.
+     * @param entityClass 필터 없는 전체 조회일 때만 넘긴다. APPROXIMATE 에서 테이블 통계를 읽는다.
+     */
+    public <T> PageResponse<T> toResponse(Slice<T> slice, CountMode mode, String filterKey, Class<?> entityClass,
+                                          LongSupplier exactCount) {
+        int page = slice.getNumber();
+        int size = slice.getSize();
+        long offset = (long) page * size;
+
+        if (!slice.hasNext() && (slice.hasContent() || page == 0)) {
+            long total = offset + slice.getNumberOfElements();
+            totals.put(filterKey, total);
+            return response(slice, total, true);
+        }
+
+        switch (mode) {
+            case EXACT:
+                long total = exactCount.getAsLong();
+                totals.put(filterKey, total);
+                return response(slice, total, true);
+            case APPROXIMATE:
+                if (entityClass != null) {
+                    OptionalLong estimate = tableRowEstimator.estimate(entityClass);
+                    if (estimate.isPresent()) {
+                        return response(slice, atLeastSeen(slice, offset, estimate.getAsLong()), false);
+                    }
+                }
+                // 통계가 없으면 캐시로
+            case CACHED:
+            default:
+                Long cached = totals.get(filterKey, key -> exactCount.getAsLong());
+                return response(slice, atLeastSeen(slice, offset, cached), false);
+        }
+    }
+
+    public void evict(String filterKey) {
+        totals.invalidate(filterKey);
+    }
+
+    // 추정치나 오래된 값이 이미 읽은 범위보다 작으면 다음 페이지 링크가 사라지므로 보정한다.
+    private static long atLeastSeen(Slice<?> slice, long offset, long total) {
+        long seen = offset + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+        return Math.max(total, seen);
+    }
+
+    private static <T> PageResponse<T> response(Slice<T> slice, long total, boolean exact) {
+        return new PageResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), total, exact);
+    }
+}
@@ -0,0 +1,15 @@
+package study.jpadata.paging;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.paging")
+public class PagingProperties {
+    private CountMode defaultCountMode = CountMode.CACHED;
+    private Duration totalCacheTtl = Duration.ofSeconds(30);
+    private long totalCacheMaximumSize = 1_000;
+}
@@ -0,0 +1,70 @@
+package study.jpadata.paging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Locale;
+import java.util.OptionalLong;
+
+/**
+ * DB 가 관리하는 테이블 통계에서 row 수 추정치를 읽는다. 지원하지 않는 DB 면 empty.
+ */
+@Slf4j
+@Component
+public class TableRowEstimator {
+    private final JdbcTemplate jdbcTemplate;
+    private final SessionFactoryImplementor sessionFactory;
+    private final String estimateSql;
+
+    public TableRowEstimator(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.estimateSql = estimateSql(databaseProductName());
+    }
+
+    public OptionalLong estimate(Class<?> entityClass) {
+        if (estimateSql == null) {
+            return OptionalLong.empty();
+        }
+        String table = ((AbstractEntityPersister) sessionFactory.getMetamodel().entityPersister(entityClass)).getTableName();
+        try {
+            List<Long> rows = jdbcTemplate.queryForList(estimateSql, Long.class, table);
+            return rows.isEmpty() || rows.get(0) == null ? OptionalLong.empty() : OptionalLong.of(rows.get(0));
+        } catch (DataAccessException e) {
+            log.debug("row estimate failed for {}", table, e);
+            return OptionalLong.empty();
+        }
+    }
+
+    private String databaseProductName() {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(), "getDatabaseProductName");
+        } catch (MetaDataAccessException e) {
+            log.warn("could not read database product name, approximate counts disabled", e);
+            return "";
+        }
+    }
+
+    private static String estimateSql(String product) {
+        switch (product.toLowerCase(Locale.ROOT)) {
+            case "h2":
+                return "select row_count_estimate from information_schema.tables" +
+                        " where table_schema = current_schema and upper(table_name) = upper(?)";
+            case "postgresql":
+                return "select reltuples::bigint from pg_class where relname = lower(?)";
+            case "mysql":
+                return "select table_rows from information_schema.tables" +
+                        " where table_schema = database() and table_name = ?";
+            default:
+                return null;
+        }
+    }
+}
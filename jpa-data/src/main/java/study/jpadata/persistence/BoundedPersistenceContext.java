@@ -0,0 +1,68 @@
+package study.jpadata.persistence;
+
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 한 트랜잭션에서 많은 엔티티를 차례로 처리할 때 1차 캐시가 끝없이 커지지 않게 한다.
+ * 관리 엔티티 수가 threshold 에 닿으면 flush 후 clear 하므로, action 에서 받은 엔티티를 다음 원소 처리 때까지 들고 있으면 안 된다.
+ * stream 은 supplier 로 받는다. read-only 모드는 쿼리 실행 전에 설정되어야 하기 때문이다.
+ * 시작 전에 한 번 flush 하므로, 호출한 쪽이 순회 전에 바꿔 둔 엔티티는 중간의 clear 로 사라지지 않는다.
+ */
+@Component
+public class BoundedPersistenceContext {
+    @PersistenceContext
+    private EntityManager em;
+
+    private final int threshold;
+
+    public BoundedPersistenceContext(PersistenceContextProperties properties) {
+        this.threshold = properties.getFlushClearThreshold();
+    }
+
+    // 수정 가능한 엔티티로 처리한다. 변경은 threshold 마다 flush 된다.
+    public <T> long forEach(Supplier<Stream<T>> query, Consumer<? super T> action) {
+        return iterate(query, action, false);
+    }
+
+    // 스냅샷을 만들지 않는 read-only 엔티티로 처리한다. 변경은 반영되지 않는다.
+    public <T> long forEachReadOnly(Supplier<Stream<T>> query, Consumer<? super T> action) {
+        return iterate(query, action, true);
+    }
+
+    private <T> long iterate(Supplier<Stream<T>> query, Consumer<? super T> action, boolean readOnly) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("BoundedPersistenceContext requires an active transaction");
+        }
+        Session session = em.unwrap(Session.class);
+        session.flush();
+        boolean defaultReadOnly = session.isDefaultReadOnly();
+        session.setDefaultReadOnly(readOnly);
+        long processed = 0;
+        try (Stream<T> stream = query.get()) {
+            for (T element : (Iterable<T>) stream::iterator) {
+                action.accept(element);
+                processed++;
+                if (session.getStatistics().getEntityCount() >= threshold) {
+                    if (!readOnly) {
+                        session.flush();
+                    }
+                    session.clear();
+                }
+            }
+            if (!readOnly) {
+                session.flush();
+            }
+        } finally {
+            session.setDefaultReadOnly(defaultReadOnly);
+        }
+        return processed;
+    }
+}
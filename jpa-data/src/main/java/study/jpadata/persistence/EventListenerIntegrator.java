@@ -0,0 +1,46 @@
+package study.jpadata.persistence;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * 스프링 빈으로 만든 hibernate 이벤트 리스너를 session factory 에 붙인다. 구현한 post load/insert/update/delete 만 등록한다.
+ * Integrator 빈은 PersistenceContextConfig 가 모아서 hibernate.integrator_provider 로 넘긴다.
+ */
+public class EventListenerIntegrator implements Integrator {
+    private final Object listener;
+
+    public EventListenerIntegrator(Object listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                          SessionFactoryServiceRegistry serviceRegistry) {
+        EventListenerRegistry registry = serviceRegistry.getService(EventListenerRegistry.class);
+        if (listener instanceof PostLoadEventListener) {
+            registry.appendListeners(EventType.POST_LOAD, (PostLoadEventListener) listener);
+        }
+        if (listener instanceof PostInsertEventListener) {
+            registry.appendListeners(EventType.POST_INSERT, (PostInsertEventListener) listener);
+        }
+        if (listener instanceof PostUpdateEventListener) {
+            registry.appendListeners(EventType.POST_UPDATE, (PostUpdateEventListener) listener);
+        }
+        if (listener instanceof PostDeleteEventListener) {
+            registry.appendListeners(EventType.POST_DELETE, (PostDeleteEventListener) listener);
+        }
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
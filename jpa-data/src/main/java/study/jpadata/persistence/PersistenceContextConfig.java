@@ -0,0 +1,34 @@
+package study.jpadata.persistence;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Configuration
+@EnableConfigurationProperties(PersistenceContextProperties.class)
+public class PersistenceContextConfig {
+
+    // MeterRegistry 는 EntityManagerFactory 보다 늦게 준비될 수 있어 트랜잭션이 끝날 때 꺼낸다.
+    @Bean
+    public Integrator persistenceContextSizeIntegrator(PersistenceContextProperties properties,
+                                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        return new EventListenerIntegrator(new PersistenceContextSizeListener(properties.getWarnThreshold(), meterRegistry));
+    }
+
+    // integrator_provider 는 값 하나만 받으므로 Integrator 빈(EventListenerIntegrator 등)을 여기서 모아 넘긴다.
+    @Bean
+    public HibernatePropertiesCustomizer integratorProviderCustomizer(ObjectProvider<Integrator> integrators) {
+        List<Integrator> collected = integrators.orderedStream().collect(Collectors.toList());
+        return hibernateProperties -> hibernateProperties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> collected);
+    }
+}
@@ -0,0 +1,14 @@
+package study.jpadata.persistence;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.persistence-context")
+public class PersistenceContextProperties {
+    // BoundedPersistenceContext 가 flush/clear 하는 관리 엔티티 수
+    private int flushClearThreshold = 1_000;
+    // 트랜잭션이 끝날 때 이보다 많은 엔티티가 관리되고 있으면 경고한다. 0 이면 끈다.
+    private int warnThreshold = 10_000;
+}
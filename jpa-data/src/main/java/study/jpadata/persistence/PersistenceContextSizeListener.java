@@ -0,0 +1,83 @@
+package study.jpadata.persistence;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 트랜잭션이 끝날 때 영속성 컨텍스트의 엔티티 수가 warnThreshold 를 넘으면 jpa.persistence.context.oversized 를 올리고 경고를 남긴다.
+ * readOnly 트랜잭션은 FlushMode.MANUAL 이라 flush 가 없으므로, 엔티티를 처음 load/insert 한 세션에 완료 처리를 걸어 커밋/롤백 때 센다.
+ * session factory 단위로 하나만 있으므로 상태는 thread-safe 하게 둔다. 경고 로그는 1분에 한 번으로 제한한다.
+ */
+@Slf4j
+public class PersistenceContextSizeListener implements PostLoadEventListener, PostInsertEventListener {
+    private static final long WARN_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final int warnThreshold;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<SharedSessionContractImplementor, Boolean> watched = new ConcurrentHashMap<>();
+    private final AtomicLong lastWarn = new AtomicLong(System.nanoTime() - WARN_INTERVAL_NANOS);
+
+    public PersistenceContextSizeListener(int warnThreshold, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.warnThreshold = warnThreshold;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        watch(event.getSession());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        watch(event.getSession());
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private void watch(EventSource session) {
+        // 트랜잭션이 없으면 완료 처리가 불리지 않아 map 에서 지워지지 않는다.
+        if (warnThreshold <= 0 || !session.isTransactionInProgress()) {
+            return;
+        }
+        watched.computeIfAbsent(session, key -> {
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) -> {
+                watched.remove(key);
+                check(completed.getPersistenceContextInternal().getNumberOfManagedEntities());
+            });
+            return Boolean.TRUE;
+        });
+    }
+
+    private void check(int count) {
+        if (count <= warnThreshold) {
+            return;
+        }
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            registry.counter("jpa.persistence.context.oversized").increment();
+        }
+        long now = System.nanoTime();
+        long last = lastWarn.get();
+        if (now - last >= WARN_INTERVAL_NANOS && lastWarn.compareAndSet(last, now)) {
+            log.warn("persistence context holds {} entities (> {}) at transaction end; consider BoundedPersistenceContext",
+                    count, warnThreshold, new IllegalStateException("oversized persistence context"));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package study.jpadata.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import study.jpadata.dto.MemberDto;
+
+/**
+ * JPA 와 같은 member/team 테이블을 R2DBC 로 읽는다. 읽기 전용이라 엔티티/영속성 컨텍스트 없이 바로 MemberDto 로 만든다.
+ * 풀은 이 객체가 가지고 닫는다. ConnectionFactory 를 빈으로 노출하면 DataSource 자동 설정이 빠지기 때문이다.
+ */
+public class ReactiveMemberRepository implements DisposableBean {
+    private static final String SELECT_DTO = "select m.member_id, m.name, coalesce(t.name, '') as team_name" +
+            " from member m left join team t on t.team_id = m.team_id";
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+
+    public ReactiveMemberRepository(ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    public Mono<MemberDto> findDtoById(Long id) {
+        return databaseClient.sql(SELECT_DTO + " where m.member_id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> toDto(row))
+                .one();
+    }
+
+    public Flux<MemberDto> findDtoPage(int page, int size) {
+        return databaseClient.sql(SELECT_DTO + " order by m.member_id limit :size offset :offset")
+                .bind("size", size)
+                .bind("offset", (long) page * size)
+                .map((row, metadata) -> toDto(row))
+                .all();
+    }
+
+    // 구독자가 요청한 만큼만 row 를 가져온다.
+    public Flux<MemberDto> streamDto() {
+        return databaseClient.sql(SELECT_DTO + " order by m.member_id")
+                .map((row, metadata) -> toDto(row))
+                .all();
+    }
+
+    public int acquiredConnections() {
+        return connectionPool.getMetrics().map(PoolMetrics::acquiredSize).orElse(0);
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+    private static MemberDto toDto(Row row) {
+        return new MemberDto(row.get("member_id", Long.class), row.get("name", String.class),
+                row.get("team_name", String.class));
+    }
+}
@@ -0,0 +1,18 @@
+package study.jpadata.reactive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.reactive")
+public class ReactiveProperties {
+    private boolean enabled = true;
+    private String url;
+    private String username;
+    private String password;
+    private int maxPoolSize = 20;
+    private Duration maxAcquireTime = Duration.ofSeconds(30);
+}
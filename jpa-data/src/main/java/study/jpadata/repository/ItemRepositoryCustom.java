@@ -0,0 +1,10 @@
+package study.jpadata.repository;
+
+import study.jpadata.entity.Item;
+
+import java.util.Collection;
+
+public interface ItemRepositoryCustom {
+    // 없는 id 만 insert 하고 이미 있는 id 는 그대로 둔다. insert 된 row 수를 돌려준다.
+    long upsertAll(Collection<Item> items);
+}
@@ -0,0 +1,82 @@
+package study.jpadata.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.transaction.annotation.Transactional;
+import study.jpadata.audit.CoarseClock;
+import study.jpadata.entity.Item;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * 키를 직접 정하는 Item 을 merge 없이 저장한다. save() 는 detached Item 을 merge 하면서 먼저 select 하지만,
+ * 여기서는 DB 의 upsert 구문으로 조회 없이 batch 로 보낸다. 영속성 컨텍스트와 엔티티 리스너는 거치지 않는다.
+ */
+public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final String upsertSql;
+
+    public ItemRepositoryCustomImpl(JdbcTemplate jdbcTemplate,
+                                    @Value("${app.item.upsert-batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.upsertSql = upsertSql(databaseProductName(jdbcTemplate));
+    }
+
+    @Override
+    @Transactional
+    public long upsertAll(Collection<Item> items) {
+        if (upsertSql == null) {
+            throw new IllegalStateException("item upsert is not supported on this database");
+        }
+        if (items.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(CoarseClock.now());
+        int[][] counts = jdbcTemplate.batchUpdate(upsertSql, items, batchSize, (ps, item) -> {
+            ps.setString(1, item.getId());
+            LocalDateTime createdAt = item.getCreatedAt();
+            ps.setTimestamp(2, createdAt != null ? Timestamp.valueOf(createdAt) : now);
+        });
+        long inserted = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // 드라이버가 건별 결과를 주지 않으면(SUCCESS_NO_INFO) 음수라 세지 않는다.
+                inserted += Math.max(count, 0);
+            }
+        }
+        return inserted;
+    }
+
+    private static String databaseProductName(JdbcTemplate jdbcTemplate) {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(), "getDatabaseProductName");
+        } catch (MetaDataAccessException e) {
+            return "";
+        }
+    }
+
+    private static String upsertSql(String product) {
+        switch (product.toLowerCase(Locale.ROOT)) {
+            case "h2":
+                return "merge into item t using (values (cast(? as varchar), cast(? as timestamp))) s(id, created_at)" +
+                        " on t.id = s.id" +
+                        " when not matched then insert (id, created_at) values (s.id, s.created_at)";
+            case "postgresql":
+                return "insert into item (id, created_at) values (?, ?) on conflict (id) do nothing";
+            // on duplicate key update 는 Connector/J 기본값(found rows)에서 이미 있는 행도 1 로 돌려줘 insert 수를 셀 수 없다.
+            // insert ignore 는 중복 키 외의 오류(잘린 값, null 등)도 경고로 바꿔 넘기므로 Item 값은 호출 전에 검증돼 있어야 한다.
+            case "mysql":
+            case "mariadb":
+                return "insert ignore into item (id, created_at) values (?, ?)";
+            default:
+                return null;
+        }
+    }
+}
@@ -23,7 +23,7 @@ public class MemberJpaRepository {
     }
 
     public List<Member> findAll() {
-        return em.createQuery("select m from Member m", Member.class).getResultList();
+        return em.createNamedQuery("Member.findAllMembers", Member.class).getResultList();
     }
 
     public Optional<Member> findById(Long id) {
@@ -32,7 +32,7 @@ public class MemberJpaRepository {
     }
 
     public long count() {
-        return em.createQuery("select count(m) from Member m", Long.class).getSingleResult();
+        return em.createNamedQuery("Member.countMembers", Long.class).getSingleResult();
     }
 
     public Member find(Long id) {
@@ -40,28 +40,43 @@ public class MemberJpaRepository {
     }
 
     public List<Member> findByNameAndAgeGreaterThan(String username, int age) {
-        return em.createQuery("select m from Member m where m.name = :name and m.age > :age", Member.class)
+        return em.createNamedQuery("Member.findByNameAndAgeOver", Member.class)
                 .setParameter("name", username)
                 .setParameter("age", age)
                 .getResultList();
     }
 
     public List<Member> findByPage(int age,int offset, int limit) {
-        return em.createQuery("select m from Member m where m.age = :age order by m.name desc", Member.class)
+        return em.createNamedQuery("Member.findByAgeOrderByName", Member.class)
                 .setParameter("age", age)
                 .setFirstResult(offset)
                 .setMaxResults(limit)
                 .getResultList();
     }
 
+    public List<Member> findByPageAfter(int age, String lastName, Long lastId, int limit) {
+        if (lastName == null || lastId == null) {
+            return em.createNamedQuery("Member.findByAgeFirstKeyset", Member.class)
+                    .setParameter("age", age)
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+        return em.createNamedQuery("Member.findByAgeAfterKeyset", Member.class)
+                .setParameter("age", age)
+                .setParameter("name", lastName)
+                .setParameter("id", lastId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
     public long totalCount(int age) {
-        return em.createQuery("select count(m) from Member m where m.age = :age", Long.class)
+        return em.createNamedQuery("Member.totalCountByAge", Long.class)
                 .setParameter("age", age)
                 .getSingleResult();
     }
 
     public int bulkAgePlus(int age) {
-        return em.createQuery("update Member m set m.age = m.age + 1 where m.age >= :age")
+        return em.createNamedQuery("Member.bulkAgePlusFrom")
                 .setParameter("age", age)
                 .executeUpdate();
     }
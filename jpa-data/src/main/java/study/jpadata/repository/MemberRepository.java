@@ -6,6 +6,7 @@ import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import study.jpadata.dto.MemberDto;
 import study.jpadata.entity.Member;
 
@@ -13,7 +14,10 @@ import javax.persistence.EntityManager;
 import javax.persistence.LockModeType;
 import javax.persistence.PersistenceContext;
 import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom {
@@ -22,21 +26,61 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     @Query("select m from Member m where m.name = :name and m.age > :age")
     List<Member> findUser(@Param("name") String name, @Param("age") int age);
 
+    @QueryHints(value = @QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query("select m.name from Member m")
     List<String> findUsernameList();
 
     @Query("select new study.jpadata.dto.MemberDto(m.id, m.name, t.name) from Member m join m.team t")
     List<MemberDto> findMemberDto();
 
-    @Query("select m from Member m where m.name in :names")
-    List<Member> findByNames(@Param("names") List<String> names);
+    // 엔티티를 만들지 않고 DTO 로 바로 페이징한다. count 는 join 없이 member 만 센다.
+    @Query(value = "select new study.jpadata.dto.MemberDto(m.id, m.name, coalesce(t.name, '')) from Member m left join m.team t",
+            countQuery = "select count(m) from Member m")
+    Page<MemberDto> findMemberDtoPage(Pageable pageable);
+
+    // count 없이 size + 1 건만 읽는다. total 은 PageTotals 가 채운다.
+    @Query("select new study.jpadata.dto.MemberDto(m.id, m.name, coalesce(t.name, '')) from Member m left join m.team t")
+    Slice<MemberDto> findMemberDtoSlice(Pageable pageable);
+
+    @Query("select new study.jpadata.dto.MemberDto(m.id, m.name, coalesce(t.name, '')) from Member m left join m.team t" +
+            " where m.age = :age")
+    Slice<MemberDto> findMemberDtoSliceByAge(@Param("age") int age, Pageable pageable);
+
+    long countByAge(int age);
+
+    @Query("select new study.jpadata.dto.MemberDto(m.id, m.name, coalesce(t.name, '')) from Member m left join m.team t" +
+            " where m.id = :id")
+    Optional<MemberDto> findMemberDtoById(@Param("id") Long id);
+
+    // 전체를 List 로 올리지 않고 fetch size 단위로 커서를 읽는다. 트랜잭션 안에서 사용하고 반드시 close 해야 한다.
+    @QueryHints(value = @QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("select new study.jpadata.dto.MemberDto(m.id, m.name, coalesce(t.name, '')) from Member m left join m.team t order by m.id")
+    Stream<MemberDto> streamMemberDto();
 
     @Query(value = "select m from Member m left join m.team t",
             countQuery = "select count(m) from Member m")
     Page<Member> findByAge(int age, Pageable pageable);
 
-    @Modifying(clearAutomatically = true)
-    @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
+    // keyset 페이징: count 쿼리 없이 (name, id) 다음 위치부터 읽는다.
+    @Query("select m from Member m where m.age = :age order by m.name desc, m.id desc")
+    Slice<Member> findSliceByAge(@Param("age") int age, Pageable pageable);
+
+    @Query("select m from Member m where m.age = :age" +
+            " and (m.name < :name or (m.name = :name and m.id < :id))" +
+            " order by m.name desc, m.id desc")
+    Slice<Member> findByAgeKeyset(@Param("age") int age, @Param("name") String name, @Param("id") Long id, Pageable pageable);
+
+    @Query("select m from Member m order by m.createdDate asc, m.id asc")
+    Slice<Member> findFirstSlice(Pageable pageable);
+
+    // 앞의 >= 조건이 있어야 (createdDate, id) 인덱스로 range scan 한다. or 만 있으면 전체를 훑는다.
+    @Query("select m from Member m" +
+            " where m.createdDate >= :createdDate and (m.createdDate > :createdDate or m.id > :id)" +
+            " order by m.createdDate asc, m.id asc")
+    Slice<Member> findSliceAfter(@Param("createdDate") LocalDateTime createdDate, @Param("id") Long id, Pageable pageable);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Member m set m.age = m.age + 1, m.version = m.version + 1 where m.age >= :age")
     int bulkAgePlus(@Param("age") int age);
 
     @Query("select m from Member m join fetch m.team")
@@ -45,10 +89,17 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     @EntityGraph(attributePaths = "team")
     List<Member> findAll();
 
+    // 전체 순회용. findAll 처럼 한 번에 올리지 않고 BoundedPersistenceContext 와 함께 트랜잭션 안에서 사용한다.
+    @QueryHints(value = @QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("select m from Member m order by m.id")
+    Stream<Member> streamAll();
+
     @Query("select m from Member m where m.id = :id")
     @EntityGraph(attributePaths = "team")
     Member findMemberJoinTeam(@Param("id") Long id);
 
+    // readOnly 트랜잭션이라 라우팅이 켜져 있으면 replica 에서 읽는다. 바깥에 쓰기 트랜잭션이 있으면 그대로 primary.
+    @Transactional(readOnly = true)
     @QueryHints(value = @QueryHint(name = "org.hibernate.readOnly", value="true"))
     Member findReadOnlyById(Long Id);
 
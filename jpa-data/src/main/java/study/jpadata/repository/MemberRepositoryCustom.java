@@ -1,9 +1,18 @@
 package study.jpadata.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import study.jpadata.entity.Member;
 
+import java.util.Collection;
 import java.util.List;
 
     public interface MemberRepositoryCustom {
         List<Member> findAllCustom();
+
+        // 이름이 많으면 in 절을 나눠서 여러 번 조회한다.
+        List<Member> findByNames(Collection<String> names);
+
+        // 검색어의 각 토큰으로 시작하는 이름 토큰을 모두 가진 회원. 이름, id 순으로 정렬한다.
+        Page<Member> searchByName(String query, Pageable pageable);
     }
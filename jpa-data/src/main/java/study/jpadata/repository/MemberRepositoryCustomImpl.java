@@ -1,17 +1,105 @@
 package study.jpadata.repository;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
 import study.jpadata.entity.Member;
+import study.jpadata.search.NameTokenizer;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 public class MemberRepositoryCustomImpl implements MemberRepositoryCustom{
     @PersistenceContext
     EntityManager em;
+
+    // in_clause_parameter_padding 이 2의 거듭제곱으로 맞추므로 chunk 크기도 2의 거듭제곱으로 둔다.
+    private final int inClauseChunkSize;
+    // 검색어 토큰은 앞에서부터 이만큼만 쓴다. 토큰 수마다 쿼리 모양이 달라지므로 plan 수도 이만큼으로 제한된다.
+    private final int maxSearchTokens;
+
+    public MemberRepositoryCustomImpl(@Value("${app.query.in-clause-chunk-size:1024}") int inClauseChunkSize,
+                                      @Value("${app.name-search.max-query-tokens:5}") int maxSearchTokens) {
+        this.inClauseChunkSize = inClauseChunkSize;
+        this.maxSearchTokens = maxSearchTokens;
+    }
+
     @Override
     public List<Member> findAllCustom() {
-        return em.createQuery("select m from Member m", Member.class).getResultList();
+        return em.createNamedQuery("Member.findAllMembers", Member.class).getResultList();
+    }
+
+    /**
+     * chunk 는 호출한 트랜잭션의 영속성 컨텍스트에서 차례로 실행한다. 같은 엔티티가 하나의 인스턴스로 유지되고
+     * 결과도 영속 상태로 돌려줄 수 있다. 중복 이름은 먼저 걸러서 chunk 사이에 같은 row 가 두 번 나오지 않게 한다.
+     */
+    @Override
+    public List<Member> findByNames(Collection<String> names) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(names));
+        if (distinct.size() <= inClauseChunkSize) {
+            return selectByNames(distinct);
+        }
+        List<Member> result = new ArrayList<>(distinct.size());
+        for (int from = 0; from < distinct.size(); from += inClauseChunkSize) {
+            result.addAll(selectByNames(distinct.subList(from, Math.min(from + inClauseChunkSize, distinct.size()))));
+        }
+        return result;
+    }
+
+    private List<Member> selectByNames(List<String> names) {
+        if (names.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return em.createNamedQuery("Member.findByNameIn", Member.class)
+                .setParameter("names", names)
+                .getResultList();
+    }
+
+    /**
+     * member_name_token 의 (token, member_id) 인덱스로 토큰마다 prefix range scan 을 한다. like '%x%' 처럼 member 전체를 훑지 않는다.
+     * pageable 에 정렬이 없으면 이름순이고, 페이지가 흔들리지 않도록 id 를 마지막 정렬 기준으로 붙인다.
+     * count 는 마지막 페이지를 알 수 없을 때만 실행한다.
+     */
+    @Override
+    public Page<Member> searchByName(String query, Pageable pageable) {
+        List<String> tokens = NameTokenizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        tokens = tokens.subList(0, Math.min(tokens.size(), maxSearchTokens));
+
+        StringBuilder where = new StringBuilder();
+        for (int i = 0; i < tokens.size(); i++) {
+            where.append(i == 0 ? " where" : " and")
+                    .append(" m.id in (select t.memberId from MemberNameToken t where t.token like :token").append(i)
+                    .append(")");
+        }
+
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by("name");
+        if (sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by("id"));
+        }
+        TypedQuery<Member> contentQuery = em.createQuery(
+                QueryUtils.applySorting("select m from Member m" + where, sort, "m"), Member.class);
+        TypedQuery<Long> countQuery = em.createQuery("select count(m) from Member m" + where, Long.class);
+        for (int i = 0; i < tokens.size(); i++) {
+            // 토큰은 글자/숫자만 있으므로 like 특수문자를 escape 할 필요가 없다.
+            String pattern = tokens.get(i) + "%";
+            contentQuery.setParameter("token" + i, pattern);
+            countQuery.setParameter("token" + i, pattern);
+        }
+        if (pageable.isPaged()) {
+            contentQuery.setFirstResult((int) pageable.getOffset());
+            contentQuery.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(contentQuery.getResultList(), pageable, countQuery::getSingleResult);
     }
 }
@@ -7,6 +7,7 @@ import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public class TeamJpaRepository {
@@ -23,7 +24,14 @@ public class TeamJpaRepository {
     }
 
     public List<Team> findAll() {
-        return em.createQuery("select t from Team t", Team.class).getResultList();
+        return em.createNamedQuery("Team.findAllTeams", Team.class).getResultList();
+    }
+
+    // 전체 순회용. BoundedPersistenceContext 와 함께 트랜잭션 안에서 사용하고 반드시 close 한다.
+    public Stream<Team> streamAll() {
+        return em.createNamedQuery("Team.findAllTeams", Team.class)
+                .setHint("org.hibernate.fetchSize", 500)
+                .getResultStream();
     }
 
     public Optional<Team> findById(Long id) {
@@ -32,6 +40,6 @@ public class TeamJpaRepository {
     }
 
     public long count() {
-        return em.createQuery("select count(t) from Team t", Long.class).getSingleResult();
+        return em.createNamedQuery("Team.countTeams", Long.class).getSingleResult();
     }
 }
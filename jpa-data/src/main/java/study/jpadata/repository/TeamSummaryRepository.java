@@ -0,0 +1,10 @@
+package study.jpadata.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import study.jpadata.entity.TeamSummary;
+
+// id 가 team_id 라 findById 한 번으로 팀 통계를 읽는다.
+@Repository
+public interface TeamSummaryRepository extends JpaRepository<TeamSummary, Long> {
+}
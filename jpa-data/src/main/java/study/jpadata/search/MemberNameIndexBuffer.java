@@ -0,0 +1,88 @@
+package study.jpadata.search;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 한 세션에서 바뀐 회원의 최신 토큰. 같은 회원이 여러 번 바뀌어도 마지막 이름만 쓴다.
+ * 기존 토큰이 있을 수 있는 회원(update/delete)만 먼저 지우고 새 토큰을 batch insert 한다.
+ */
+class MemberNameIndexBuffer implements BeforeTransactionCompletionProcess, AfterTransactionCompletionProcess {
+    private static final String DELETE_SQL = "delete from member_name_token where member_id = ?";
+    private static final String INSERT_SQL = "insert into member_name_token (token, member_id) values (?, ?)";
+
+    private final Map<Long, List<String>> tokens = new LinkedHashMap<>();
+    private final Set<Long> stale = new HashSet<>();
+    private final Runnable onCompletion;
+
+    MemberNameIndexBuffer(Runnable onCompletion) {
+        this.onCompletion = onCompletion;
+    }
+
+    void index(Long memberId, String name, boolean replace) {
+        tokens.put(memberId, NameTokenizer.tokenize(name));
+        if (replace) {
+            stale.add(memberId);
+        }
+    }
+
+    void remove(Long memberId) {
+        tokens.put(memberId, List.of());
+        stale.add(memberId);
+    }
+
+    int size() {
+        return tokens.size();
+    }
+
+    void write(SessionImplementor session) {
+        if (tokens.isEmpty()) {
+            return;
+        }
+        session.doWork(this::write);
+        tokens.clear();
+        stale.clear();
+    }
+
+    private void write(Connection connection) throws SQLException {
+        try (PreparedStatement delete = connection.prepareStatement(DELETE_SQL);
+             PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            for (Long memberId : stale) {
+                delete.setLong(1, memberId);
+                delete.addBatch();
+            }
+            for (Map.Entry<Long, List<String>> entry : tokens.entrySet()) {
+                for (String token : entry.getValue()) {
+                    insert.setString(1, token);
+                    insert.setLong(2, entry.getKey());
+                    insert.addBatch();
+                }
+            }
+            delete.executeBatch();
+            insert.executeBatch();
+        }
+    }
+
+    @Override
+    public void doBeforeTransactionCompletion(SessionImplementor session) {
+        write(session);
+    }
+
+    @Override
+    public void doAfterTransactionCompletion(boolean success, SharedSessionContractImplementor session) {
+        tokens.clear();
+        stale.clear();
+        onCompletion.run();
+    }
+}
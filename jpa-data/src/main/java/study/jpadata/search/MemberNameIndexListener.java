@@ -0,0 +1,84 @@
+package study.jpadata.search;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import study.jpadata.entity.Member;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Member 의 insert/update/delete 를 member_name_token 에 반영한다. 이름이 바뀌지 않은 update(나이 변경 등)는 건너뛴다.
+ * 토큰은 커밋 직전(또는 writeBatchSize 만큼 쌓였을 때) 같은 트랜잭션에서 쓰므로, 같은 트랜잭션 안의 검색에는 아직 보이지 않을 수 있다.
+ */
+public class MemberNameIndexListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+    private final int writeBatchSize;
+    private final Map<SharedSessionContractImplementor, MemberNameIndexBuffer> pending = new ConcurrentHashMap<>();
+
+    public MemberNameIndexListener(int writeBatchSize) {
+        this.writeBatchSize = writeBatchSize;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member) {
+            index(event.getSession(), (Long) event.getId(), name(event.getPersister(), event.getState()), false);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Member)) {
+            return;
+        }
+        String name = name(event.getPersister(), event.getState());
+        Object[] oldState = event.getOldState();
+        if (oldState != null && Objects.equals(name(event.getPersister(), oldState), name)) {
+            return;
+        }
+        index(event.getSession(), (Long) event.getId(), name, true);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member) {
+            buffer(event.getSession()).remove((Long) event.getId());
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private void index(EventSource session, Long memberId, String name, boolean replace) {
+        MemberNameIndexBuffer buffer = buffer(session);
+        buffer.index(memberId, name, replace);
+        if (buffer.size() >= writeBatchSize) {
+            buffer.write(session);
+        }
+    }
+
+    private MemberNameIndexBuffer buffer(EventSource session) {
+        return pending.computeIfAbsent(session, key -> {
+            MemberNameIndexBuffer buffer = new MemberNameIndexBuffer(() -> pending.remove(key));
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) buffer);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) buffer);
+            return buffer;
+        });
+    }
+
+    private static String name(EntityPersister persister, Object[] state) {
+        return (String) state[persister.getEntityMetamodel().getPropertyIndex("name")];
+    }
+}
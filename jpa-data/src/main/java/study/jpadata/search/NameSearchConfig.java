@@ -0,0 +1,23 @@
+package study.jpadata.search;
+
+import org.hibernate.integrator.spi.Integrator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.jpadata.persistence.EventListenerIntegrator;
+
+@Configuration
+@EnableConfigurationProperties(NameSearchProperties.class)
+public class NameSearchConfig {
+
+    @Bean
+    public MemberNameIndexListener memberNameIndexListener(NameSearchProperties properties) {
+        return new MemberNameIndexListener(properties.getWriteBatchSize());
+    }
+
+    // 이름이 바뀌지 않은 update 를 거르려면 이전 상태가 필요해 hibernate 이벤트 리스너로 등록한다.
+    @Bean
+    public Integrator memberNameIndexIntegrator(MemberNameIndexListener listener) {
+        return new EventListenerIntegrator(listener);
+    }
+}
@@ -0,0 +1,12 @@
+package study.jpadata.search;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.name-search")
+public class NameSearchProperties {
+    // 토큰 변경을 이만큼 모으면 커밋 전이라도 batch 로 내보낸다. 대량 등록 때 세션에 쌓이는 양을 제한한다.
+    private int writeBatchSize = 500;
+}
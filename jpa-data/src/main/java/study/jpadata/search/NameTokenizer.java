@@ -0,0 +1,38 @@
+package study.jpadata.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 이름을 글자/숫자 단위 토큰으로 나눈다. 저장과 검색이 같은 규칙을 써야 하므로 둘 다 여기를 거친다.
+ * NFKC + 소문자로 맞춰 전각/대소문자 차이를 없애고, 공백과 기호는 구분자로 본다.
+ */
+public final class NameTokenizer {
+    public static final int MAX_TOKEN_LENGTH = 64;
+
+    private NameTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        Set<String> tokens = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean letterOrDigit = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                tokens.add(normalized.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH)));
+                start = -1;
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+}
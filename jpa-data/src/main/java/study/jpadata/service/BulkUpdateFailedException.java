@@ -0,0 +1,20 @@
+package study.jpadata.service;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 일부 chunk 가 실패했을 때 던진다. pendingRanges 를 그대로 resume 에 넘기면 남은 chunk 만 다시 실행한다.
+ */
+@Getter
+public class BulkUpdateFailedException extends RuntimeException {
+    private final List<IdRange> pendingRanges;
+    private final long updatedRows;
+
+    public BulkUpdateFailedException(List<IdRange> pendingRanges, long updatedRows, Throwable cause) {
+        super("bulk update failed, " + pendingRanges.size() + " chunks pending, " + updatedRows + " rows updated", cause);
+        this.pendingRanges = pendingRanges;
+        this.updatedRows = updatedRows;
+    }
+}
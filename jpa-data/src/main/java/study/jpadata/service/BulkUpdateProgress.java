@@ -0,0 +1,18 @@
+package study.jpadata.service;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class BulkUpdateProgress {
+    private final int completedChunks;
+    private final int totalChunks;
+    private final long updatedRows;
+
+    public BulkUpdateProgress(int completedChunks, int totalChunks, long updatedRows) {
+        this.completedChunks = completedChunks;
+        this.totalChunks = totalChunks;
+        this.updatedRows = updatedRows;
+    }
+}
@@ -0,0 +1,26 @@
+package study.jpadata.service;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * [from, to) 범위의 primary key 구간.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public class IdRange implements Comparable<IdRange> {
+    private final long from;
+    private final long to;
+
+    public IdRange(long from, long to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public int compareTo(IdRange other) {
+        return Long.compare(from, other.from);
+    }
+}
@@ -0,0 +1,59 @@
+package study.jpadata.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.jpadata.entity.Member;
+import study.jpadata.entity.Team;
+import study.jpadata.repository.MemberJpaRepository;
+import study.jpadata.repository.TeamJpaRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 대량 등록 전용 서비스.
+ * batchSize 는 hibernate.jdbc.batch_size 와 맞춰야 flush 한 번이 insert batch 하나로 나간다.
+ * 팀이 있는 Member 는 Member.forBulkInsert 로 만든다. batch 마다 clear 하므로 Team.members 를 건드리면 안 된다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberBulkService {
+    private final MemberJpaRepository memberJpaRepository;
+    private final TeamJpaRepository teamJpaRepository;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Transactional
+    public long saveAllBatched(Stream<Member> members, int batchSize) {
+        return saveAll(members.iterator(), batchSize, memberJpaRepository::save);
+    }
+
+    @Transactional
+    public long saveAllTeamsBatched(Stream<Team> teams, int batchSize) {
+        return saveAll(teams.iterator(), batchSize, teamJpaRepository::save);
+    }
+
+    private <T> long saveAll(Iterator<T> iterator, int batchSize, Consumer<T> save) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+
+        long count = 0;
+        while (iterator.hasNext()) {
+            save.accept(iterator.next());
+            if (++count % batchSize == 0) {
+                // 1차 캐시와 스냅샷이 계속 쌓이지 않도록 batch 단위로 내보내고 비운다.
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+        return count;
+    }
+}
@@ -0,0 +1,168 @@
+package study.jpadata.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpadata.entity.Member;
+import study.jpadata.summary.TeamSummaryUpdater;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * bulkAgePlus 를 primary key 구간으로 나눠 chunk 마다 별도 트랜잭션으로 커밋한다.
+ * 한 번에 잡는 row lock 과 undo 가 chunk 크기로 제한되고, parallelism 만큼 서로 다른 커넥션에서 동시에 실행할 수 있다.
+ * 호출한 쪽 트랜잭션 안에서는 실행하지 않는다. 그 트랜잭션이 member 에 잡은 lock 을 chunk 가 기다리며 커넥션을 하나 더 쓰고,
+ * 끝난 뒤에는 호출한 쪽 영속성 컨텍스트의 Member 가 모두 낡은 값이 된다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberBulkUpdateService {
+    private final PlatformTransactionManager transactionManager;
+    private final TeamSummaryUpdater teamSummaryUpdater;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public long bulkAgePlus(int age, int chunkSize, int parallelism, Consumer<BulkUpdateProgress> progress) {
+        return resume(age, plan(age, chunkSize), parallelism, progress);
+    }
+
+    public List<IdRange> plan(int age, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        Object[] bounds = new TransactionTemplate(transactionManager).execute(status ->
+                em.createQuery("select min(m.id), max(m.id) from Member m where m.age >= :age", Object[].class)
+                        .setParameter("age", age)
+                        .getSingleResult());
+
+        List<IdRange> ranges = new ArrayList<>();
+        if (bounds == null || bounds[0] == null) {
+            return ranges;
+        }
+        long min = (Long) bounds[0];
+        long max = (Long) bounds[1];
+        for (long from = min; from <= max; from += chunkSize) {
+            ranges.add(new IdRange(from, Math.min(from + chunkSize, max + 1)));
+        }
+        return ranges;
+    }
+
+    public long resume(int age, List<IdRange> ranges, int parallelism, Consumer<BulkUpdateProgress> progress) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("MemberBulkUpdateService must not be called inside a transaction");
+        }
+        TransactionTemplate chunkTx = new TransactionTemplate(transactionManager);
+        chunkTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Set<IdRange> pending = ConcurrentHashMap.newKeySet();
+        pending.addAll(ranges);
+        AtomicLong updatedRows = new AtomicLong();
+        AtomicInteger completedChunks = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        // 커밋된 chunk 의 팀별 대상 회원 수. team_summary 에는 모든 chunk 가 끝난 뒤 한 번에 더한다.
+        Map<Long, Long> ageSumDeltas = new ConcurrentHashMap<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<?>> futures = new ArrayList<>(ranges.size());
+            for (IdRange range : ranges) {
+                futures.add(executor.submit(() -> {
+                    // 하나라도 실패하면 새 chunk 는 시작하지 않는다.
+                    if (failure.get() != null) {
+                        return;
+                    }
+                    try {
+                        Map<Long, Long> chunkTargets = new HashMap<>();
+                        Integer updated = chunkTx.execute(status -> {
+                            chunkTargets.putAll(teamSummaryUpdater.countBulkAgePlus(age, range.getFrom(), range.getTo()));
+                            return updateChunk(age, range);
+                        });
+                        chunkTargets.forEach((teamId, count) -> ageSumDeltas.merge(teamId, count, Long::sum));
+                        pending.remove(range);
+                        long total = updatedRows.addAndGet(updated);
+                        progress.accept(new BulkUpdateProgress(completedChunks.incrementAndGet(), ranges.size(), total));
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        } catch (ExecutionException e) {
+            failure.compareAndSet(null, e.getCause());
+        } finally {
+            executor.shutdownNow();
+            // 실행 중인 chunk 는 interrupt 로 멈추지 않고 커밋될 수 있다. 끝까지 기다린 뒤에 남은 구간과 변화량을 본다.
+            awaitWorkers(executor);
+            teamSummaryUpdater.applyBulkAgePlus(age, ageSumDeltas);
+            clearStaleState();
+        }
+
+        if (failure.get() != null) {
+            List<IdRange> remaining = new ArrayList<>(pending);
+            remaining.sort(null);
+            throw new BulkUpdateFailedException(remaining, updatedRows.get(), failure.get());
+        }
+        return updatedRows.get();
+    }
+
+    private static void awaitWorkers(ExecutorService executor) {
+        boolean interrupted = Thread.interrupted();
+        try {
+            while (true) {
+                try {
+                    if (executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private int updateChunk(int age, IdRange range) {
+        return em.createQuery("update Member m set m.age = m.age + 1, m.version = m.version + 1" +
+                        " where m.age >= :age and m.id >= :from and m.id < :to")
+                .setParameter("age", age)
+                .setParameter("from", range.getFrom())
+                .setParameter("to", range.getTo())
+                .executeUpdate();
+    }
+
+    // chunk 는 별도 트랜잭션에서 커밋되므로 2차 캐시에 남은 Member 를 비운다.
+    private void clearStaleState() {
+        em.getEntityManagerFactory().getCache().evict(Member.class);
+    }
+}
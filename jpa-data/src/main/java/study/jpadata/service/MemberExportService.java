@@ -0,0 +1,71 @@
+package study.jpadata.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.jpadata.dto.MemberDto;
+import study.jpadata.repository.MemberRepository;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 회원 전체를 한 줄씩 writer 로 흘려보낸다.
+ * 엔티티 대신 DTO 를 조회하므로 영속성 컨텍스트에 아무것도 쌓이지 않고, 힙 사용량은 fetch size 만큼만 유지된다.
+ * 내보내는 동안 커넥션 하나를 계속 쥐므로 10초를 넘기면 hikari leak-detection 경고가 남는다. 예상된 경고다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberExportService {
+    private static final int FLUSH_INTERVAL = 1000;
+    private static final String CSV_HEADER = "id,name,teamName";
+
+    private final MemberRepository memberRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long exportNdjson(Writer writer) throws IOException {
+        return export(writer, objectMapper::writeValueAsString);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportCsv(Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        return export(writer, dto -> dto.getId() + "," + csv(dto.getName()) + "," + csv(dto.getTeamName()));
+    }
+
+    private long export(Writer writer, LineFormatter formatter) throws IOException {
+        long count = 0;
+        try (Stream<MemberDto> stream = memberRepository.streamMemberDto()) {
+            Iterator<MemberDto> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                writer.write(formatter.format(iterator.next()));
+                writer.write('\n');
+                if (++count % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    @FunctionalInterface
+    private interface LineFormatter {
+        String format(MemberDto dto) throws IOException;
+    }
+}
@@ -0,0 +1,66 @@
+package study.jpadata.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.jpadata.dto.CursorPage;
+import study.jpadata.dto.MemberCursor;
+import study.jpadata.dto.MemberDto;
+import study.jpadata.dto.PageResponse;
+import study.jpadata.entity.Member;
+import study.jpadata.paging.CountMode;
+import study.jpadata.paging.PageTotals;
+import study.jpadata.repository.MemberRepository;
+
+import java.util.List;
+
+/**
+ * 컨트롤러용 조회. open-in-view 를 끈 상태라 지연 로딩은 여기 트랜잭션 안에서 끝내고, 밖으로는 DTO 만 내보낸다.
+ * 트랜잭션이 끝나면 커넥션이 반납되므로 응답 직렬화 동안에는 커넥션을 잡고 있지 않는다.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class MemberQueryService {
+    private final MemberRepository memberRepository;
+    private final PageTotals pageTotals;
+
+    public String findName(Long id) {
+        return memberRepository.findById(id).get().getName();
+    }
+
+    public PageResponse<MemberDto> findPage(Pageable pageable, Integer age, CountMode mode) {
+        if (age == null) {
+            return pageTotals.toResponse(memberRepository.findMemberDtoSlice(pageable), mode,
+                    "members", Member.class, memberRepository::count);
+        }
+        return pageTotals.toResponse(memberRepository.findMemberDtoSliceByAge(age, pageable), mode,
+                "members?age=" + age, null, () -> memberRepository.countByAge(age));
+    }
+
+    public PageResponse<MemberDto> search(String query, Pageable pageable) {
+        Page<Member> page = memberRepository.searchByName(query, pageable);
+        return new PageResponse<>(page.map(MemberDto::new).getContent(), page.getNumber(), page.getSize(),
+                page.hasNext(), page.getTotalElements(), true);
+    }
+
+    public CursorPage<MemberDto> findByCursor(String cursor, int size) {
+        PageRequest pageRequest = PageRequest.of(0, size);
+        Slice<Member> slice;
+        if (cursor == null) {
+            slice = memberRepository.findFirstSlice(pageRequest);
+        } else {
+            MemberCursor memberCursor = MemberCursor.decode(cursor);
+            slice = memberRepository.findSliceAfter(memberCursor.getCreatedDate(), memberCursor.getId(), pageRequest);
+        }
+
+        List<Member> content = slice.getContent();
+        String nextCursor = slice.hasNext() ? MemberCursor.of(content.get(content.size() - 1)).encode() : null;
+        // team 은 LAZY 라 트랜잭션 안에서 DTO 로 바꾼다. batch fetch 로 team 은 한 번에 읽는다.
+        return new CursorPage<>(slice.map(MemberDto::new).getContent(), nextCursor);
+    }
+}
@@ -0,0 +1,39 @@
+package study.jpadata.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.jpadata.entity.Member;
+import study.jpadata.repository.MemberRepository;
+
+import javax.persistence.EntityNotFoundException;
+
+/**
+ * 같은 read-modify-write 를 두 가지 동시성 제어로 제공한다.
+ * pessimistic 은 select ... for update 로 row 를 잡고, optimistic 은 @Version 으로 충돌을 감지해 다시 시도한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberUpdateService {
+    private final MemberRepository memberRepository;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+
+    public Member addAgeOptimistic(Long id, int delta) {
+        return optimisticRetryExecutor.execute(() -> {
+            Member member = memberRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("member not found: " + id));
+            member.setAge(member.getAge() + delta);
+            return member;
+        });
+    }
+
+    @Transactional
+    public Member addAgePessimistic(Long id, int delta) {
+        Member member = memberRepository.findLockById(id);
+        if (member == null) {
+            throw new EntityNotFoundException("member not found: " + id);
+        }
+        member.setAge(member.getAge() + delta);
+        return member;
+    }
+}
@@ -0,0 +1,61 @@
+package study.jpadata.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * read-modify-write 작업을 새 트랜잭션에서 실행하고, @Version 충돌이면 exponential backoff(full jitter) 후 다시 실행한다.
+ * 매 시도마다 새 영속성 컨텍스트에서 다시 읽어야 하므로 바깥 트랜잭션이 있어도 REQUIRES_NEW 로 실행한다.
+ */
+@Component
+@EnableConfigurationProperties(OptimisticRetryProperties.class)
+public class OptimisticRetryExecutor {
+    private final TransactionTemplate transactionTemplate;
+    private final OptimisticRetryProperties properties;
+    private final Counter conflicts;
+    private final Counter aborts;
+
+    public OptimisticRetryExecutor(PlatformTransactionManager transactionManager, OptimisticRetryProperties properties,
+                                   MeterRegistry registry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = properties;
+        this.conflicts = registry.counter("optimistic.retry.conflicts");
+        this.aborts = registry.counter("optimistic.retry.aborts");
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                conflicts.increment();
+                if (attempt >= properties.getMaxAttempts()) {
+                    aborts.increment();
+                    throw e;
+                }
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = Math.min(properties.getMaxBackoff().toMillis(),
+                properties.getInitialBackoff().toMillis() << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while backing off", e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package study.jpadata.summary;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * MemberRepository / MemberJpaRepository 의 bulkAgePlus 앞뒤로 team_summary 를 맞춘다.
+ * chunk 로 나눠 실행하는 MemberBulkUpdateService 는 countBulkAgePlus/applyBulkAgePlus 를 직접 부른다.
+ */
+@Aspect
+@RequiredArgsConstructor
+public class TeamSummaryBulkAspect {
+    // aspect 는 일찍 만들어지므로 EntityManager 를 쓰는 updater 는 호출 때 꺼낸다.
+    private final ObjectProvider<TeamSummaryUpdater> updater;
+    private final ObjectProvider<TransactionTemplate> transactionTemplate;
+
+    @Around("execution(int study.jpadata.repository.MemberRepository.bulkAgePlus(int))" +
+            " || execution(int study.jpadata.repository.MemberJpaRepository.bulkAgePlus(int))")
+    public Object bulkAgePlus(ProceedingJoinPoint joinPoint) throws Throwable {
+        int age = (Integer) joinPoint.getArgs()[0];
+        TeamSummaryUpdater summaryUpdater = updater.getObject();
+        // 호출한 쪽 트랜잭션이 없으면 여기서 열어 before/update/after 가 함께 커밋되거나 롤백되게 한다.
+        return transactionTemplate.getObject().execute(status -> {
+            summaryUpdater.beforeBulkAgePlus(age);
+            Object result = proceed(joinPoint);
+            summaryUpdater.afterBulkAgePlus(age);
+            return result;
+        });
+    }
+
+    private static Object proceed(ProceedingJoinPoint joinPoint) {
+        try {
+            return joinPoint.proceed();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+}
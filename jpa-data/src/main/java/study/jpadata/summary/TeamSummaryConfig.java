@@ -0,0 +1,47 @@
+package study.jpadata.summary;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.integrator.spi.Integrator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpadata.persistence.EventListenerIntegrator;
+
+@Configuration
+@EnableConfigurationProperties(TeamSummaryProperties.class)
+public class TeamSummaryConfig {
+
+    @Bean
+    public TeamSummaryEventListener teamSummaryEventListener() {
+        return new TeamSummaryEventListener();
+    }
+
+    // jpa @EntityListeners 로는 update 이전 상태를 알 수 없어 hibernate 이벤트 리스너로 등록한다.
+    @Bean
+    public Integrator teamSummaryIntegrator(TeamSummaryEventListener listener) {
+        return new EventListenerIntegrator(listener);
+    }
+
+    @Bean
+    public TeamSummaryUpdater teamSummaryUpdater(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                                 TeamSummaryEventListener listener) {
+        return new TeamSummaryUpdater(jdbcTemplate, transactionTemplate, listener);
+    }
+
+    @Bean
+    public TeamSummaryBulkAspect teamSummaryBulkAspect(ObjectProvider<TeamSummaryUpdater> updater,
+                                                       ObjectProvider<TransactionTemplate> transactionTemplate) {
+        return new TeamSummaryBulkAspect(updater, transactionTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.team-summary", name = "reconcile-enabled", havingValue = "true", matchIfMissing = true)
+    public TeamSummaryReconciler teamSummaryReconciler(JdbcTemplate jdbcTemplate, TeamSummaryProperties properties,
+                                                       MeterRegistry registry) {
+        return new TeamSummaryReconciler(jdbcTemplate, properties, registry);
+    }
+}
@@ -0,0 +1,177 @@
+package study.jpadata.summary;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 한 세션(트랜잭션)에서 생긴 팀별 변화량. flush 가 끝난 뒤 커밋 직전에 팀당 update 한 번으로 team_summary 에 반영한다.
+ * 회원이 빠져나간 팀은 최소/최대를 증분으로 알 수 없으므로 (team_id, age) 인덱스로 다시 구한다.
+ * 세션은 한 스레드에서만 쓰이므로 동기화하지 않는다.
+ */
+class TeamSummaryDeltas implements BeforeTransactionCompletionProcess, AfterTransactionCompletionProcess {
+    private static final String INSERT_SQL =
+            "insert into team_summary (team_id, member_count, age_sum, age_min, age_max) values (?, ?, ?, ?, ?)";
+    private static final String ADD_COUNTS_SQL =
+            "update team_summary set member_count = member_count + ?, age_sum = age_sum + ? where team_id = ?";
+    // mysql 의 least/greatest 는 null 이 있으면 null 이라 coalesce 로 감싼다.
+    private static final String ADD_COUNTS_AND_EXTREMA_SQL =
+            "update team_summary set member_count = member_count + ?, age_sum = age_sum + ?," +
+            " age_min = coalesce(least(age_min, ?), ?), age_max = coalesce(greatest(age_max, ?), ?) where team_id = ?";
+    private static final String RECOMPUTE_EXTREMA_SQL =
+            "update team_summary set age_min = (select min(m.age) from member m where m.team_id = ?)," +
+            " age_max = (select max(m.age) from member m where m.team_id = ?) where team_id = ?";
+    private static final String DELETE_SQL = "delete from team_summary where team_id = ?";
+
+    private final Map<Long, Delta> deltas = new LinkedHashMap<>();
+    private final Runnable onCompletion;
+
+    TeamSummaryDeltas(Runnable onCompletion) {
+        this.onCompletion = onCompletion;
+    }
+
+    void teamCreated(Long teamId) {
+        delta(teamId).created = true;
+    }
+
+    void teamDeleted(Long teamId) {
+        delta(teamId).deleted = true;
+    }
+
+    void memberAdded(Long teamId, int age) {
+        if (teamId == null) {
+            return;
+        }
+        Delta delta = delta(teamId);
+        delta.count++;
+        delta.sum += age;
+        delta.addedMin = delta.addedMin == null ? age : Math.min(delta.addedMin, age);
+        delta.addedMax = delta.addedMax == null ? age : Math.max(delta.addedMax, age);
+    }
+
+    void memberRemoved(Long teamId, int age) {
+        if (teamId == null) {
+            return;
+        }
+        Delta delta = delta(teamId);
+        delta.count--;
+        delta.sum -= age;
+        delta.extremaStale = true;
+    }
+
+    // 이전 상태를 모르는 변경. 이 팀의 최소/최대만 다시 구하고 나머지는 reconciler 에 맡긴다.
+    void extremaStale(Long teamId) {
+        if (teamId != null) {
+            delta(teamId).extremaStale = true;
+        }
+    }
+
+    boolean isEmpty() {
+        return deltas.isEmpty();
+    }
+
+    void apply(SessionImplementor session) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        session.doWork(this::write);
+        deltas.clear();
+    }
+
+    private void write(Connection connection) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL);
+             PreparedStatement addCounts = connection.prepareStatement(ADD_COUNTS_SQL);
+             PreparedStatement addCountsAndExtrema = connection.prepareStatement(ADD_COUNTS_AND_EXTREMA_SQL);
+             PreparedStatement recomputeExtrema = connection.prepareStatement(RECOMPUTE_EXTREMA_SQL);
+             PreparedStatement delete = connection.prepareStatement(DELETE_SQL)) {
+            for (Map.Entry<Long, Delta> entry : deltas.entrySet()) {
+                Long teamId = entry.getKey();
+                Delta delta = entry.getValue();
+                if (delta.deleted) {
+                    if (!delta.created) {
+                        delete.setLong(1, teamId);
+                        delete.addBatch();
+                    }
+                    continue;
+                }
+                if (delta.created) {
+                    insert.setLong(1, teamId);
+                    insert.setLong(2, delta.count);
+                    insert.setLong(3, delta.sum);
+                    setNullableInt(insert, 4, delta.addedMin);
+                    setNullableInt(insert, 5, delta.addedMax);
+                    insert.addBatch();
+                } else if (delta.addedMin == null) {
+                    if (delta.count != 0 || delta.sum != 0) {
+                        addCounts.setLong(1, delta.count);
+                        addCounts.setLong(2, delta.sum);
+                        addCounts.setLong(3, teamId);
+                        addCounts.addBatch();
+                    }
+                } else {
+                    addCountsAndExtrema.setLong(1, delta.count);
+                    addCountsAndExtrema.setLong(2, delta.sum);
+                    addCountsAndExtrema.setInt(3, delta.addedMin);
+                    addCountsAndExtrema.setInt(4, delta.addedMin);
+                    addCountsAndExtrema.setInt(5, delta.addedMax);
+                    addCountsAndExtrema.setInt(6, delta.addedMax);
+                    addCountsAndExtrema.setLong(7, teamId);
+                    addCountsAndExtrema.addBatch();
+                }
+                if (delta.extremaStale) {
+                    recomputeExtrema.setLong(1, teamId);
+                    recomputeExtrema.setLong(2, teamId);
+                    recomputeExtrema.setLong(3, teamId);
+                    recomputeExtrema.addBatch();
+                }
+            }
+            // 최소/최대 재계산은 행이 생기고 증분이 반영된 뒤에 한다.
+            insert.executeBatch();
+            addCounts.executeBatch();
+            addCountsAndExtrema.executeBatch();
+            recomputeExtrema.executeBatch();
+            delete.executeBatch();
+        }
+    }
+
+    private static void setNullableInt(PreparedStatement statement, int index, Integer value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.INTEGER);
+        } else {
+            statement.setInt(index, value);
+        }
+    }
+
+    private Delta delta(Long teamId) {
+        return deltas.computeIfAbsent(teamId, key -> new Delta());
+    }
+
+    @Override
+    public void doBeforeTransactionCompletion(SessionImplementor session) {
+        apply(session);
+    }
+
+    @Override
+    public void doAfterTransactionCompletion(boolean success, SharedSessionContractImplementor session) {
+        deltas.clear();
+        onCompletion.run();
+    }
+
+    private static final class Delta {
+        private long count;
+        private long sum;
+        private Integer addedMin;
+        private Integer addedMax;
+        private boolean extremaStale;
+        private boolean created;
+        private boolean deleted;
+    }
+}
@@ -0,0 +1,119 @@
+package study.jpadata.summary;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import study.jpadata.entity.Member;
+import study.jpadata.entity.Team;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Member/Team 의 insert/update/delete 를 팀별 변화량으로 모아 커밋 직전에 team_summary 에 반영한다.
+ * update 는 flush 직전 상태(oldState)와 비교하므로 changeTeam 이나 나이 변경 모두 이전 팀에서 빼고 새 팀에 더한다.
+ * JPQL bulk update/delete 는 이벤트가 없으므로 TeamSummaryUpdater 와 TeamSummaryReconciler 가 맡는다.
+ */
+public class TeamSummaryEventListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+    private final Map<SharedSessionContractImplementor, TeamSummaryDeltas> pending = new ConcurrentHashMap<>();
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof Member) {
+            deltas(event.getSession()).memberAdded(teamId(event.getPersister(), event.getState()),
+                    age(event.getPersister(), event.getState()));
+        } else if (entity instanceof Team) {
+            deltas(event.getSession()).teamCreated((Long) event.getId());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Member)) {
+            return;
+        }
+        EntityPersister persister = event.getPersister();
+        Long newTeamId = teamId(persister, event.getState());
+        int newAge = age(persister, event.getState());
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            // detached 엔티티를 select 없이 update 한 경우
+            if (newTeamId != null) {
+                deltas(event.getSession()).extremaStale(newTeamId);
+            }
+            return;
+        }
+        Long oldTeamId = teamId(persister, oldState);
+        int oldAge = age(persister, oldState);
+        if (Objects.equals(oldTeamId, newTeamId) && oldAge == newAge) {
+            return;
+        }
+        TeamSummaryDeltas deltas = deltas(event.getSession());
+        deltas.memberRemoved(oldTeamId, oldAge);
+        deltas.memberAdded(newTeamId, newAge);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof Member) {
+            deltas(event.getSession()).memberRemoved(teamId(event.getPersister(), event.getDeletedState()),
+                    age(event.getPersister(), event.getDeletedState()));
+        } else if (entity instanceof Team) {
+            deltas(event.getSession()).teamDeleted((Long) event.getId());
+        }
+    }
+
+    /**
+     * 지금까지 모인 변화량을 바로 반영한다. bulk update 처럼 이벤트 없이 member 를 바꾸기 전에 부른다.
+     */
+    public void applyPending(SessionImplementor session) {
+        TeamSummaryDeltas deltas = pending.get(session);
+        if (deltas != null) {
+            deltas.apply(session);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private TeamSummaryDeltas deltas(EventSource session) {
+        return pending.computeIfAbsent(session, key -> {
+            // 커밋/롤백이 끝나면 after 쪽에서 map 에서 지운다.
+            TeamSummaryDeltas deltas = new TeamSummaryDeltas(() -> pending.remove(key));
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) deltas);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) deltas);
+            return deltas;
+        });
+    }
+
+    private static Long teamId(EntityPersister persister, Object[] state) {
+        Object team = state[persister.getEntityMetamodel().getPropertyIndex("team")];
+        if (team == null) {
+            return null;
+        }
+        // 연관 팀이 아직 로딩되지 않은 proxy 여도 초기화하지 않고 id 만 꺼낸다.
+        if (team instanceof HibernateProxy) {
+            return (Long) ((HibernateProxy) team).getHibernateLazyInitializer().getIdentifier();
+        }
+        return ((Team) team).getId();
+    }
+
+    private static int age(EntityPersister persister, Object[] state) {
+        return (Integer) state[persister.getEntityMetamodel().getPropertyIndex("age")];
+    }
+}
@@ -0,0 +1,15 @@
+package study.jpadata.summary;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "app.team-summary")
+public class TeamSummaryProperties {
+    // bulk delete 나 직접 SQL 처럼 이벤트를 거치지 않은 변경을 reconcileInterval 마다 다시 맞춘다.
+    private boolean reconcileEnabled = true;
+    private Duration reconcileInterval = Duration.ofMinutes(10);
+}
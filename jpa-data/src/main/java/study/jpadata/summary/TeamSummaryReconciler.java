@@ -0,0 +1,108 @@
+package study.jpadata.summary;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * team_summary 와 member 를 다시 집계해 어긋난 팀만 고친다. 어긋난 팀 수는 team.summary.drift 로 남는다.
+ * 팀마다 짧은 update 한 번이라 incremental 갱신과 겹쳐도 행 잠금을 오래 잡지 않고, 남은 차이는 다음 주기에 맞춰진다.
+ */
+@Slf4j
+public class TeamSummaryReconciler implements SmartLifecycle {
+    private static final String INSERT_MISSING_SQL =
+            "insert into team_summary (team_id, member_count, age_sum, age_min, age_max)" +
+            " select t.team_id, 0, 0, null, null from team t" +
+            " where not exists (select 1 from team_summary s where s.team_id = t.team_id)";
+    private static final String DELETE_ORPHAN_SQL =
+            "delete from team_summary where not exists (select 1 from team t where t.team_id = team_summary.team_id)";
+    // 나이는 음수가 아니므로 null 비교는 -1 로 바꿔서 한다.
+    private static final String FIND_DRIFTED_SQL =
+            "select s.team_id from team_summary s left join" +
+            " (select team_id, count(*) cnt, sum(age) total, min(age) youngest, max(age) oldest" +
+            " from member where team_id is not null group by team_id) a on a.team_id = s.team_id" +
+            " where s.member_count <> coalesce(a.cnt, 0) or s.age_sum <> coalesce(a.total, 0)" +
+            " or coalesce(s.age_min, -1) <> coalesce(a.youngest, -1) or coalesce(s.age_max, -1) <> coalesce(a.oldest, -1)";
+    private static final String RECOMPUTE_SQL =
+            "update team_summary set member_count = (select count(*) from member m where m.team_id = ?)," +
+            " age_sum = (select coalesce(sum(m.age), 0) from member m where m.team_id = ?)," +
+            " age_min = (select min(m.age) from member m where m.team_id = ?)," +
+            " age_max = (select max(m.age) from member m where m.team_id = ?)" +
+            " where team_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TeamSummaryProperties properties;
+    private final Counter drift;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public TeamSummaryReconciler(JdbcTemplate jdbcTemplate, TeamSummaryProperties properties, MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.drift = Counter.builder("team.summary.drift").register(registry);
+    }
+
+    /**
+     * 고친 팀 수를 돌려준다.
+     */
+    public int reconcile() {
+        int inserted = jdbcTemplate.update(INSERT_MISSING_SQL);
+        int deleted = jdbcTemplate.update(DELETE_ORPHAN_SQL);
+        List<Long> drifted = jdbcTemplate.queryForList(FIND_DRIFTED_SQL, Long.class);
+        if (!drifted.isEmpty()) {
+            jdbcTemplate.batchUpdate(RECOMPUTE_SQL, drifted, drifted.size(), (ps, teamId) -> {
+                for (int i = 1; i <= 5; i++) {
+                    ps.setLong(i, teamId);
+                }
+            });
+        }
+
+        int repaired = inserted + deleted + drifted.size();
+        if (repaired > 0) {
+            drift.increment(repaired);
+            log.warn("team summary drift repaired: inserted={}, deleted={}, recomputed={}",
+                    inserted, deleted, drifted.size());
+        }
+        return repaired;
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (DataAccessException e) {
+            log.error("team summary reconciliation failed", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        long interval = properties.getReconcileInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "team-summary-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::reconcileQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
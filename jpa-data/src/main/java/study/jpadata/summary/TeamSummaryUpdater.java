@@ -0,0 +1,93 @@
+package study.jpadata.summary;
+
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * bulkAgePlus(age 이상 +1) 처럼 이벤트 없이 member 를 바꾸는 경로용. 회원을 읽지 않고 팀 단위 update 두 번으로 맞춘다.
+ * 나이 합은 update 전에 팀별 대상 회원 수만큼 더하고, 최소/최대는 update 후 대상이 있었을 수 있는 팀(age_max >= age)만 다시 구한다.
+ * chunk 로 나눠 병렬로 실행할 때는 chunk 트랜잭션이 team_summary 행을 잡지 않도록 팀별 대상 수만 세고(countBulkAgePlus),
+ * 모든 chunk 가 끝난 뒤 applyBulkAgePlus 로 한 번에 반영한다.
+ */
+public class TeamSummaryUpdater {
+    private static final String ADD_BULK_AGE_SUM_SQL =
+            "update team_summary set age_sum = age_sum + (select count(*) from member m" +
+            " where m.team_id = team_summary.team_id and m.age >= ?) where age_max >= ?";
+    private static final String COUNT_BULK_TARGETS_SQL =
+            "select m.team_id, count(*) from member m" +
+            " where m.age >= ? and m.member_id >= ? and m.member_id < ? and m.team_id is not null group by m.team_id";
+    private static final String ADD_AGE_SUM_SQL = "update team_summary set age_sum = age_sum + ? where team_id = ?";
+    private static final String RECOMPUTE_EXTREMA_SQL =
+            "update team_summary set age_min = (select min(m.age) from member m where m.team_id = team_summary.team_id)," +
+            " age_max = (select max(m.age) from member m where m.team_id = team_summary.team_id)" +
+            " where age_max >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TeamSummaryEventListener listener;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public TeamSummaryUpdater(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                              TeamSummaryEventListener listener) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.listener = listener;
+    }
+
+    /**
+     * bulk update 와 같은 트랜잭션에서 그 직전에 부른다. 같은 트랜잭션에서 쌓인 변화량을 먼저 반영해야
+     * 아직 반영 안 된 회원의 나이가 bulk update 로 바뀐 뒤 이전 값으로 더해지는 일이 없다.
+     */
+    public void beforeBulkAgePlus(int age) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("beforeBulkAgePlus requires an active transaction");
+        }
+        em.flush();
+        listener.applyPending(em.unwrap(SessionImplementor.class));
+        jdbcTemplate.update(ADD_BULK_AGE_SUM_SQL, age, age);
+    }
+
+    /**
+     * bulk update 와 같은 트랜잭션에서 그 직후에 부른다.
+     * age_max 는 before 이후 건드리지 않았으므로 bulk update 전 값 기준으로 대상 팀을 고른다.
+     */
+    public void afterBulkAgePlus(int age) {
+        jdbcTemplate.update(RECOMPUTE_EXTREMA_SQL, age);
+    }
+
+    /**
+     * [fromId, toId) 구간에서 bulk update 대상이 될 회원 수를 팀별로 센다. chunk 트랜잭션에서 update 직전에 부른다.
+     */
+    public Map<Long, Long> countBulkAgePlus(int age, long fromId, long toId) {
+        Map<Long, Long> counts = new HashMap<>();
+        jdbcTemplate.query(COUNT_BULK_TARGETS_SQL, (RowCallbackHandler) rs -> counts.put(rs.getLong(1), rs.getLong(2)),
+                age, fromId, toId);
+        return counts;
+    }
+
+    /**
+     * 커밋된 chunk 들의 팀별 대상 수를 나이 합에 더하고 최소/최대를 다시 구한다. 짧은 트랜잭션 하나로 실행한다.
+     */
+    public void applyBulkAgePlus(int age, Map<Long, Long> ageSumDeltas) {
+        List<Map.Entry<Long, Long>> deltas = new ArrayList<>(ageSumDeltas.entrySet());
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(ADD_AGE_SUM_SQL, deltas, deltas.size(), (ps, delta) -> {
+                ps.setLong(1, delta.getValue());
+                ps.setLong(2, delta.getKey());
+            });
+            afterBulkAgePlus(age);
+        });
+    }
+}
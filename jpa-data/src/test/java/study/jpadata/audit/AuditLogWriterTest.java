@@ -0,0 +1,93 @@
+package study.jpadata.audit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpadata.entity.Member;
+import study.jpadata.repository.MemberRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 큐를 작게 두고 writer 주기를 길게 잡아, 커밋 후 append 에서 큐가 넘치는 경우를 만든다.
+@SpringBootTest(properties = {
+        "app.audit.log.enabled=true",
+        "app.audit.log.queue-capacity=10",
+        "app.audit.log.batch-size=5",
+        "app.audit.log.flush-interval=1h"})
+class AuditLogWriterTest {
+    @Autowired
+    AuditLogWriter auditLogWriter;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    public void writesCommittedChangesOnly() {
+        Member member = transactionTemplate.execute(status -> memberRepository.save(new Member("audited", 10)));
+        transactionTemplate.executeWithoutResult(status -> {
+            memberRepository.save(new Member("rolledBack", 10));
+            status.setRollbackOnly();
+        });
+
+        auditLogWriter.flush();
+
+        Integer inserted = jdbcTemplate.queryForObject(
+                "select count(*) from audit_log where entity_name = 'Member' and entity_id = ? and action = 'INSERT'",
+                Integer.class, String.valueOf(member.getId()));
+        assertThat(inserted).isEqualTo(1);
+
+        memberRepository.deleteById(member.getId());
+    }
+
+    @Test
+    public void overflowAfterCommitDropsInsteadOfFailing() {
+        double droppedBefore = meterRegistry.get("audit.log.dropped").counter().count();
+
+        List<Member> members = transactionTemplate.execute(status -> memberRepository.saveAll(
+                IntStream.range(0, 50).mapToObj(i -> new Member("overflow" + i, 10)).collect(Collectors.toList())));
+
+        auditLogWriter.flush();
+
+        List<String> ids = members.stream().map(member -> String.valueOf(member.getId())).collect(Collectors.toList());
+        Integer inserted = new NamedParameterJdbcTemplate(jdbcTemplate).queryForObject(
+                "select count(*) from audit_log where entity_name = 'Member' and action = 'INSERT' and entity_id in (:ids)",
+                Map.of("ids", ids), Integer.class);
+        double dropped = meterRegistry.get("audit.log.dropped").counter().count() - droppedBefore;
+        assertThat(memberRepository.findAllById(members.stream().map(Member::getId).collect(Collectors.toList())))
+                .hasSize(50);
+        assertThat(dropped).isPositive();
+        assertThat(inserted + dropped).isEqualTo(50);
+
+        memberRepository.deleteAllInBatch(members);
+    }
+
+    @Test
+    public void registersOneSynchronizationPerTransaction() {
+        List<Member> members = transactionTemplate.execute(status -> {
+            List<Member> saved = memberRepository.saveAll(
+                    IntStream.range(0, 5).mapToObj(i -> new Member("oneSync" + i, 10)).collect(Collectors.toList()));
+            memberRepository.flush();
+            assertThat(TransactionSynchronizationManager.getSynchronizations())
+                    .filteredOn(synchronization -> synchronization instanceof AuditLogListener.CommittedRecords)
+                    .hasSize(1);
+            return saved;
+        });
+
+        memberRepository.deleteAllInBatch(members);
+    }
+}
@@ -0,0 +1,65 @@
+package study.jpadata.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.jpadata.dto.MemberDto;
+import study.jpadata.entity.Member;
+import study.jpadata.entity.Team;
+import study.jpadata.metrics.StatementCounter;
+import study.jpadata.repository.MemberRepository;
+import study.jpadata.repository.TeamRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberProjectionCacheTest {
+    @Autowired
+    MemberProjectionCache memberProjectionCache;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    TeamRepository teamRepository;
+    @Autowired
+    StatementCounter statementCounter;
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    public void hitDoesNotTouchDatabase() {
+        Team team = teamRepository.save(new Team("teamA"));
+        Member member = memberRepository.save(new Member("member1", 10, team));
+        em.flush();
+
+        MemberDto first = memberProjectionCache.get(member.getId());
+        statementCounter.reset();
+        MemberDto second = memberProjectionCache.get(member.getId());
+
+        assertThat(first.getName()).isEqualTo("member1");
+        assertThat(first.getTeamName()).isEqualTo("teamA");
+        assertThat(second).isSameAs(first);
+        assertThat(statementCounter.count()).isZero();
+    }
+
+    @Test
+    public void updateEvicts() {
+        Member member = memberRepository.save(new Member("member1", 10));
+        em.flush();
+        memberProjectionCache.get(member.getId());
+
+        member.setName("renamed");
+        em.flush(); // @PostUpdate
+
+        assertThat(memberProjectionCache.get(member.getId()).getName()).isEqualTo("renamed");
+    }
+
+    @Test
+    public void missingIdIsNotCached() {
+        assertThat(memberProjectionCache.get(-1L)).isNull();
+    }
+}
@@ -0,0 +1,94 @@
+package study.jpadata.cache;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpadata.entity.Member;
+import study.jpadata.entity.Team;
+import study.jpadata.repository.MemberRepository;
+import study.jpadata.repository.TeamRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 2차 캐시는 커밋 때 채워지므로 테스트 트랜잭션 없이 트랜잭션마다 새 영속성 컨텍스트로 읽는다.
+@SpringBootTest
+class SecondLevelCacheTest {
+    private static final String MEMBERS_ROLE = Team.class.getName() + ".members";
+
+    @Autowired
+    TeamRepository teamRepository;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @PersistenceContext
+    EntityManager em;
+
+    Statistics statistics;
+    Team teamA;
+    Team teamB;
+    Member member;
+
+    @BeforeEach
+    void setUp() {
+        teamA = teamRepository.save(new Team("cachedA"));
+        teamB = teamRepository.save(new Team("cachedB"));
+        member = memberRepository.save(new Member("cached", 10, teamA));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteById(member.getId());
+        teamRepository.deleteAllById(List.of(teamA.getId(), teamB.getId()));
+    }
+
+    @Test
+    public void teamAndMembersAreServedFromCache() {
+        memberNames(teamA);
+        CacheRegionStatistics teams = statistics.getDomainDataRegionStatistics(Team.class.getName());
+        long teamHits = teams.getHitCount();
+        assertThat(statistics.getCollectionStatistics(MEMBERS_ROLE).getCacheMissCount()).isEqualTo(1);
+
+        assertThat(memberNames(teamA)).containsExactly("cached");
+
+        assertThat(teams.getHitCount()).isGreaterThan(teamHits);
+        assertThat(statistics.getCollectionStatistics(MEMBERS_ROLE).getCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void changeTeamEvictsBothCollections() {
+        memberNames(teamA);
+        memberNames(teamB);
+        assertThat(statistics.getCollectionStatistics(MEMBERS_ROLE).getCacheMissCount()).isEqualTo(2);
+
+        transactionTemplate.executeWithoutResult(status ->
+                em.find(Member.class, member.getId()).changeTeam(em.find(Team.class, teamB.getId())));
+
+        assertThat(memberNames(teamA)).isEmpty();
+        assertThat(memberNames(teamB)).containsExactly("cached");
+        // 캐시가 비워졌으므로 두 팀 모두 다시 DB 에서 읽는다.
+        assertThat(statistics.getCollectionStatistics(MEMBERS_ROLE).getCacheMissCount()).isEqualTo(4);
+    }
+
+    private List<String> memberNames(Team team) {
+        return transactionTemplate.execute(status -> em.find(Team.class, team.getId()).getMembers().stream()
+                .map(Member::getName)
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,97 @@
+package study.jpadata.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.web.servlet.MockMvc;
+import study.jpadata.dto.MemberCursor;
+import study.jpadata.entity.Member;
+import study.jpadata.entity.Team;
+import study.jpadata.repository.MemberRepository;
+import study.jpadata.repository.TeamRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// open-in-view 가 꺼져 있는지 보려면 테스트 트랜잭션 없이 요청해야 한다.
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberControllerTest {
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ApplicationContext applicationContext;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    TeamRepository teamRepository;
+
+    Team team;
+    Member member;
+
+    @BeforeEach
+    void setUp() {
+        team = teamRepository.save(new Team("osivTeam"));
+        member = memberRepository.save(new Member("osivMember", 20, team));
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteById(member.getId());
+        teamRepository.deleteById(team.getId());
+    }
+
+    @Test
+    public void openInViewInterceptorIsNotRegistered() {
+        assertThat(applicationContext.getBeanNamesForType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
+
+    @Test
+    public void findMember() throws Exception {
+        mockMvc.perform(get("/members/{id}", member.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().string("osivMember"));
+    }
+
+    @Test
+    public void cursorPageResolvesTeamInsideService() throws Exception {
+        String cursor = new MemberCursor(member.getCreatedDate().minusSeconds(1), 0L).encode();
+
+        mockMvc.perform(get("/members/cursor").param("cursor", cursor).param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].teamName", hasItem("osivTeam")));
+    }
+
+    @Test
+    public void invalidCursorIsBadRequest() throws Exception {
+        mockMvc.perform(get("/members/cursor").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void nonPositiveCursorSizeIsClamped() throws Exception {
+        mockMvc.perform(get("/members/cursor").param("size", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1));
+        mockMvc.perform(get("/members/cursor").param("size", "-5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1));
+    }
+
+    @Test
+    public void pageResponse() throws Exception {
+        mockMvc.perform(get("/members").param("age", "20").param("count", "exact"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalExact").value(true))
+                .andExpect(jsonPath("$.content[*].name", hasItem("osivMember")));
+    }
+}
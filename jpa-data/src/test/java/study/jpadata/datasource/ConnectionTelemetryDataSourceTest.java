@@ -0,0 +1,64 @@
+package study.jpadata.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConnectionTelemetryDataSourceTest {
+    MeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void recordsAcquireAndHoldPerUriPattern() throws Exception {
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        ConnectionTelemetryDataSource dataSource = new ConnectionTelemetryDataSource(target,
+                new StaticListableBeanFactory(Map.of("registry", registry)).getBeanProvider(MeterRegistry.class));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/members/{id}");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        Connection borrowed = dataSource.getConnection();
+        borrowed.close();
+        borrowed.close();
+
+        verify(connection, times(2)).close();
+        assertThat(registry.get("jdbc.connection.acquire").tag("uri", "/members/{id}").timer().count()).isEqualTo(1);
+        assertThat(registry.get("jdbc.connection.hold").tag("uri", "/members/{id}").timer().count()).isEqualTo(1);
+        assertThat(registry.get("jdbc.connection.waiting").tag("uri", "/members/{id}").gauge().value()).isZero();
+    }
+
+    @Test
+    public void outsideRequestIsTaggedNone() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(mock(Connection.class));
+        ConnectionTelemetryDataSource dataSource = new ConnectionTelemetryDataSource(target,
+                new StaticListableBeanFactory(Map.of("registry", registry)).getBeanProvider(MeterRegistry.class));
+
+        dataSource.getConnection().close();
+
+        assertThat(registry.get("jdbc.connection.hold").tag("uri", "none").timer().count()).isEqualTo(1);
+    }
+}
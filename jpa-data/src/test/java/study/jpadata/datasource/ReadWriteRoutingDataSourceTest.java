@@ -0,0 +1,84 @@
+package study.jpadata.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.jpadata.datasource.DataSourceRoutingProperties.ReplicaSelection;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTest {
+    ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        routing = new ReadWriteRoutingDataSource(new SimpleDriverDataSource(),
+                List.of(new SimpleDriverDataSource(), new SimpleDriverDataSource()),
+                ReplicaSelection.ROUND_ROBIN, Duration.ofMinutes(1));
+        routing.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    public void noTransactionUsesPrimary() {
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    public void readOnlyTransactionsRoundRobinReplicas() {
+        begin(true);
+        Object first = routing.determineCurrentLookupKey();
+        Object second = routing.determineCurrentLookupKey();
+        Object third = routing.determineCurrentLookupKey();
+
+        assertThat(first).isNotEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+        assertThat(second).isNotEqualTo(first);
+        assertThat(third).isEqualTo(first);
+    }
+
+    @Test
+    public void readsStickToPrimaryAfterWriteCommits() {
+        begin(false);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+        commit();
+
+        begin(true);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    public void rolledBackWriteDoesNotStick() {
+        begin(false);
+        routing.determineCurrentLookupKey();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        begin(true);
+        assertThat(routing.determineCurrentLookupKey()).isNotEqualTo(ReadWriteRoutingDataSource.PRIMARY);
+    }
+
+    private void begin(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+}
@@ -45,4 +45,24 @@ class MemberTest {
             System.out.println("-> member.team = " + member.getTeam());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void membershipChangesDoNotBumpTeamVersion() {
+        Team teamA = new Team("versionA");
+        Team teamB = new Team("versionB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.flush();
+        Long versionA = teamA.getVersion();
+        Long versionB = teamB.getVersion();
+
+        Member member = new Member("versioned", 10, teamA);
+        em.persist(member);
+        em.flush();
+        member.changeTeam(teamB);
+        em.flush();
+
+        assertEquals(versionA, teamA.getVersion());
+        assertEquals(versionB, teamB.getVersion());
+    }
+}
@@ -0,0 +1,30 @@
+package study.jpadata.index;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.index-advisor.enabled=true")
+class IndexAdvisorTest {
+    @Autowired
+    IndexAdvisor indexAdvisor;
+
+    @Test
+    public void memberAccessPathsUseIndexes() {
+        Map<String, List<IndexAdvice>> advices = indexAdvisor.advise().stream()
+                .collect(Collectors.groupingBy(IndexAdvice::getMethod));
+
+        for (String method : List.of("findByNameAndAgeGreaterThan", "findUser", "findSliceByAge",
+                "findByAgeKeyset", "findSliceAfter")) {
+            List<IndexAdvice> advice = advices.get("MemberRepository#" + method);
+            assertThat(advice).as(method).isNotEmpty();
+            assertThat(advice).as(method).noneMatch(IndexAdvice::isTableScan);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package study.jpadata.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.jpadata.entity.Member;
+import study.jpadata.repository.MemberJpaRepository;
+import study.jpadata.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class RepositoryMetricsAspectTest {
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @Autowired
+    StatementCounter statementCounter;
+    @Autowired
+    MeterRegistry registry;
+
+    @Test
+    public void recordsLatencyAndRowsPerRepositoryMethod() {
+        memberRepository.save(new Member("member1", 10));
+        memberRepository.findByNameAndAgeGreaterThan("member1", 0);
+        memberJpaRepository.findByNameAndAgeGreaterThan("member1", 0);
+
+        Timer springData = registry.get("repository.invocations")
+                .tag("repository", "MemberRepository")
+                .tag("method", "findByNameAndAgeGreaterThan")
+                .timer();
+        Timer jpa = registry.get("repository.invocations")
+                .tag("repository", "MemberJpaRepository")
+                .tag("method", "findByNameAndAgeGreaterThan")
+                .timer();
+
+        assertThat(springData.count()).isGreaterThanOrEqualTo(1);
+        assertThat(jpa.count()).isGreaterThanOrEqualTo(1);
+        assertThat(registry.get("repository.rows")
+                .tag("repository", "MemberJpaRepository")
+                .tag("method", "findByNameAndAgeGreaterThan")
+                .summary()
+                .totalAmount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    public void countsStatementsPerThread() {
+        statementCounter.reset();
+
+        memberRepository.findUsernameList();
+
+        assertThat(statementCounter.count()).isGreaterThanOrEqualTo(1);
+        assertThat(statementCounter.lastStatement()).containsIgnoringCase("select");
+    }
+}
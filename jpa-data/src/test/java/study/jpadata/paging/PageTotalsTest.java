@@ -0,0 +1,98 @@
+package study.jpadata.paging;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.jpadata.dto.MemberDto;
+import study.jpadata.dto.PageResponse;
+import study.jpadata.entity.Member;
+import study.jpadata.metrics.StatementCounter;
+import study.jpadata.repository.MemberRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class PageTotalsTest {
+    private static final int AGE = 700;
+    private static final String KEY = "members?age=" + AGE;
+
+    @Autowired
+    PageTotals pageTotals;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    StatementCounter statementCounter;
+    @PersistenceContext
+    EntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 25; i++) {
+            memberRepository.save(new Member("member" + i, AGE));
+        }
+        em.flush();
+        em.clear();
+        pageTotals.evict(KEY);
+        statementCounter.reset();
+    }
+
+    @Test
+    public void lastPageSkipsCountQuery() {
+        PageResponse<MemberDto> page = page(2, CountMode.EXACT);
+
+        assertThat(statementCounter.count()).isEqualTo(1);
+        assertThat(page.getContent()).hasSize(5);
+        assertThat(page.getTotalElements()).isEqualTo(25);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+        assertThat(page.isTotalExact()).isTrue();
+    }
+
+    @Test
+    public void exactCountsEveryTime() {
+        page(0, CountMode.EXACT);
+        PageResponse<MemberDto> page = page(1, CountMode.EXACT);
+
+        // select + count 두 번씩
+        assertThat(statementCounter.count()).isEqualTo(4);
+        assertThat(page.getTotalElements()).isEqualTo(25);
+        assertThat(page.isTotalExact()).isTrue();
+    }
+
+    @Test
+    public void cachedTotalIsReused() {
+        PageResponse<MemberDto> first = page(0, CountMode.CACHED);
+        long afterFirst = statementCounter.count();
+        PageResponse<MemberDto> second = page(1, CountMode.CACHED);
+
+        assertThat(afterFirst).isEqualTo(2);
+        assertThat(statementCounter.count() - afterFirst).isEqualTo(1);
+        assertThat(first.getTotalElements()).isEqualTo(25);
+        assertThat(second.getTotalElements()).isEqualTo(25);
+        assertThat(second.isTotalExact()).isFalse();
+    }
+
+    @Test
+    public void approximateTotalNeverHidesNextPage() {
+        PageResponse<MemberDto> page = pageTotals.toResponse(
+                memberRepository.findMemberDtoSlice(PageRequest.of(0, 10, Sort.by("id"))),
+                CountMode.APPROXIMATE, "members", Member.class, memberRepository::count);
+
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.isTotalExact()).isFalse();
+        assertThat(page.getTotalElements()).isGreaterThan(10);
+    }
+
+    private PageResponse<MemberDto> page(int page, CountMode mode) {
+        return pageTotals.toResponse(
+                memberRepository.findMemberDtoSliceByAge(AGE, PageRequest.of(page, 10, Sort.by("id"))),
+                mode, KEY, null, () -> memberRepository.countByAge(AGE));
+    }
+}
@@ -0,0 +1,85 @@
+package study.jpadata.persistence;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.jpadata.entity.Member;
+import study.jpadata.repository.MemberRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.persistence-context.flush-clear-threshold=10")
+@Transactional
+class BoundedPersistenceContextTest {
+    private static final int AGE = 800;
+
+    @Autowired
+    BoundedPersistenceContext boundedPersistenceContext;
+    @Autowired
+    MemberRepository memberRepository;
+    @PersistenceContext
+    EntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 35; i++) {
+            memberRepository.save(new Member("bounded" + i, AGE));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void flushesAndClearsAtThreshold() {
+        Session session = em.unwrap(Session.class);
+        AtomicInteger maxManaged = new AtomicInteger();
+
+        long processed = boundedPersistenceContext.forEach(memberRepository::streamAll, member -> {
+            maxManaged.accumulateAndGet(session.getStatistics().getEntityCount(), Math::max);
+            if (member.getAge() == AGE) {
+                member.setAge(AGE + 1);
+            }
+        });
+
+        assertThat(processed).isGreaterThanOrEqualTo(35);
+        assertThat(maxManaged.get()).isLessThanOrEqualTo(10);
+        em.clear();
+        assertThat(memberRepository.countByAge(AGE)).isZero();
+        assertThat(memberRepository.countByAge(AGE + 1)).isGreaterThanOrEqualTo(35);
+    }
+
+    @Test
+    public void readOnlyEntitiesAreNotFlushed() {
+        Session session = em.unwrap(Session.class);
+
+        boundedPersistenceContext.forEachReadOnly(memberRepository::streamAll, member -> {
+            assertThat(session.isReadOnly(member)).isTrue();
+            member.setAge(0);
+        });
+
+        em.flush();
+        em.clear();
+        assertThat(memberRepository.countByAge(AGE)).isGreaterThanOrEqualTo(35);
+        assertThat(session.isDefaultReadOnly()).isFalse();
+    }
+
+    @Test
+    public void readOnlyKeepsChangesMadeBeforeIteration() {
+        Member changed = memberRepository.save(new Member("changedBefore", AGE));
+        em.flush();
+        changed.setAge(AGE + 2);
+
+        boundedPersistenceContext.forEachReadOnly(memberRepository::streamAll, member -> {
+        });
+
+        em.clear();
+        assertThat(memberRepository.findById(changed.getId()).get().getAge()).isEqualTo(AGE + 2);
+    }
+}
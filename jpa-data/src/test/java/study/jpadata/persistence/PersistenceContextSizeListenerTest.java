@@ -0,0 +1,73 @@
+package study.jpadata.persistence;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpadata.entity.Member;
+import study.jpadata.repository.MemberRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// readOnly 트랜잭션은 flush 하지 않으므로 커밋까지 가야 하는 테스트라 테스트 트랜잭션을 쓰지 않는다.
+@SpringBootTest(properties = "app.persistence-context.warn-threshold=10")
+class PersistenceContextSizeListenerTest {
+    private static final int AGE = 810;
+
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    List<Member> members;
+
+    @BeforeEach
+    void setUp() {
+        members = memberRepository.saveAll(IntStream.range(0, 20)
+                .mapToObj(i -> new Member("oversized" + i, AGE))
+                .collect(Collectors.toList()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAllInBatch(members);
+    }
+
+    @Test
+    public void readOnlyTransactionIsCounted() {
+        double before = oversized();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        int loaded = readOnly.execute(status -> memberRepository.findAllById(
+                members.stream().map(Member::getId).collect(Collectors.toList())).size());
+
+        assertThat(loaded).isEqualTo(20);
+        assertThat(oversized()).isEqualTo(before + 1);
+    }
+
+    @Test
+    public void smallTransactionIsNotCounted() {
+        double before = oversized();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readOnly.execute(status -> memberRepository.findById(members.get(0).getId()));
+
+        assertThat(oversized()).isEqualTo(before);
+    }
+
+    private double oversized() {
+        return meterRegistry.counter("jpa.persistence.context.oversized").count();
+    }
+}
@@ -0,0 +1,70 @@
+package study.jpadata.reactive;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.test.StepVerifier;
+import study.jpadata.dto.MemberDto;
+import study.jpadata.entity.Member;
+import study.jpadata.entity.Team;
+import study.jpadata.repository.MemberRepository;
+import study.jpadata.repository.TeamRepository;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// R2DBC 커넥션에서 보이려면 JPA 로 넣은 데이터가 커밋되어 있어야 하므로 테스트 트랜잭션을 쓰지 않는다.
+@SpringBootTest
+class ReactiveMemberRepositoryTest {
+    @Autowired
+    ReactiveMemberRepository reactiveMemberRepository;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    TeamRepository teamRepository;
+
+    Team team;
+    Member member;
+    Member second;
+
+    @BeforeEach
+    void setUp() {
+        team = teamRepository.save(new Team("reactiveTeam"));
+        member = memberRepository.save(new Member("reactiveMember", 30, team));
+        second = memberRepository.save(new Member("reactiveMember2", 31, team));
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteById(member.getId());
+        memberRepository.deleteById(second.getId());
+        teamRepository.deleteById(team.getId());
+    }
+
+    @Test
+    public void findDtoById() {
+        MemberDto dto = reactiveMemberRepository.findDtoById(member.getId()).block();
+
+        assertThat(dto).isNotNull();
+        assertThat(dto.getName()).isEqualTo("reactiveMember");
+        assertThat(dto.getTeamName()).isEqualTo("reactiveTeam");
+        assertThat(reactiveMemberRepository.findDtoById(-1L).blockOptional()).isEmpty();
+    }
+
+    @Test
+    public void streamHonoursDemand() {
+        // 요청한 만큼만 내보내고, 다음 request 전에는 더 보내지 않는다.
+        StepVerifier.create(reactiveMemberRepository.streamDto(), 1)
+                .expectNextCount(1)
+                .expectNoEvent(Duration.ofMillis(200))
+                .thenRequest(1)
+                .expectNextCount(1)
+                .thenCancel()
+                .verify();
+        assertThat(reactiveMemberRepository.streamDto().map(MemberDto::getId).collectList().block())
+                .contains(member.getId(), second.getId());
+    }
+}
@@ -5,6 +5,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import study.jpadata.entity.Item;
 
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -16,4 +20,21 @@ class ItemRepositoryTest {
         Item item = new Item("A");
         itemRepository.save(item);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void upsertAll() {
+        String prefix = UUID.randomUUID().toString();
+        List<String> ids = List.of(prefix + "-1", prefix + "-2", prefix + "-3");
+
+        long first = itemRepository.upsertAll(List.of(new Item(ids.get(0)), new Item(ids.get(1))));
+        long second = itemRepository.upsertAll(List.of(new Item(ids.get(1)), new Item(ids.get(2))));
+
+        assertThat(first).isEqualTo(2);
+        assertThat(second).isEqualTo(1);
+        List<Item> items = itemRepository.findAllById(ids);
+        assertThat(items).extracting(Item::getId).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(items).allMatch(item -> item.getCreatedAt() != null && !item.isNew());
+
+        itemRepository.deleteAllById(ids);
+    }
+}
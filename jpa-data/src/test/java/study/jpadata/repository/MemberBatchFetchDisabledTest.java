@@ -0,0 +1,82 @@
+package study.jpadata.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.jpadata.dto.MemberDto;
+import study.jpadata.entity.Member;
+import study.jpadata.entity.Team;
+import study.jpadata.metrics.StatementCounter;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// MemberBatchFetchTest 와 같은 데이터/조회를 batch fetch 없이 돌려 N+1 기준값을 잰다.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.default_batch_fetch_size=1")
+@Transactional
+class MemberBatchFetchDisabledTest {
+    private static final int AGE = 731;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    TeamRepository teamRepository;
+    @Autowired
+    StatementCounter statementCounter;
+    @PersistenceContext
+    EntityManager em;
+
+    List<Long> teamIds;
+
+    @BeforeEach
+    void setUp() {
+        teamIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Team team = teamRepository.save(new Team("team" + i));
+            memberRepository.save(new Member("member" + i, AGE, team));
+            memberRepository.save(new Member("member" + i + "-2", AGE, team));
+            teamIds.add(team.getId());
+        }
+        em.flush();
+        em.clear();
+        // 2차 캐시에 남아 있으면 N+1 이 가려지므로 비운다.
+        em.getEntityManagerFactory().getCache().evictAll();
+        statementCounter.reset();
+    }
+
+    @Test
+    public void memberPageLoadsEachTeam() {
+        List<MemberDto> page = memberRepository.findSliceByAge(AGE, PageRequest.of(0, 10))
+                .map(MemberDto::new)
+                .getContent();
+
+        long statements = statementCounter.count();
+        System.out.println("member page statements without batch fetch = " + statements);
+
+        // select page + 페이지의 5개 팀마다 한 번
+        assertThat(page).extracting(MemberDto::getTeamName).containsOnly("team9", "team8", "team7", "team6", "team5");
+        assertThat(statements).isEqualTo(1 + 5);
+    }
+
+    @Test
+    public void teamMembersLoadPerTeam() {
+        List<Team> teams = em.createQuery("select t from Team t where t.id in :ids", Team.class)
+                .setParameter("ids", teamIds)
+                .getResultList();
+        for (Team team : teams) {
+            team.getMembers().size();
+        }
+
+        long statements = statementCounter.count();
+        System.out.println("team members statements without batch fetch = " + statements);
+
+        // select team + 팀마다 members 한 번
+        assertThat(statements).isEqualTo(1 + 10);
+    }
+}
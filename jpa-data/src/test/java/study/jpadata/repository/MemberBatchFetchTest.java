@@ -0,0 +1,85 @@
+package study.jpadata.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.jpadata.dto.MemberDto;
+import study.jpadata.entity.Member;
+import study.jpadata.entity.Team;
+import study.jpadata.metrics.StatementCounter;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberBatchFetchTest {
+    // 다른 테스트 데이터와 섞이지 않도록 이 테스트만 쓰는 나이. 배치 없이 같은 조회를 한 결과는 MemberBatchFetchDisabledTest 에 있다.
+    private static final int AGE = 731;
+
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    TeamRepository teamRepository;
+    @Autowired
+    StatementCounter statementCounter;
+    @PersistenceContext
+    EntityManager em;
+
+    List<Long> teamIds;
+
+    @BeforeEach
+    void setUp() {
+        teamIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Team team = teamRepository.save(new Team("team" + i));
+            memberRepository.save(new Member("member" + i, AGE, team));
+            memberRepository.save(new Member("member" + i + "-2", AGE, team));
+            teamIds.add(team.getId());
+        }
+        em.flush();
+        em.clear();
+        // 2차 캐시에 남아 있으면 N+1 이 가려지므로 비운다.
+        em.getEntityManagerFactory().getCache().evictAll();
+        statementCounter.reset();
+    }
+
+    @Test
+    public void memberPageLoadsTeamsInOneBatch() {
+        List<MemberDto> page = memberRepository.findSliceByAge(AGE, PageRequest.of(0, 10))
+                .map(MemberDto::new)
+                .getContent();
+
+        long statements = statementCounter.count();
+        System.out.println("member page statements = " + statements);
+
+        // 이름 역순 10명은 member9-2 ~ member5 로 5개 팀이다. select page + 팀 batch 한 번
+        assertThat(page).extracting(MemberDto::getTeamName).containsOnly("team9", "team8", "team7", "team6", "team5");
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    public void teamMembersLoadInOneBatch() {
+        List<Team> teams = em.createQuery("select t from Team t where t.id in :ids", Team.class)
+                .setParameter("ids", teamIds)
+                .getResultList();
+        int memberCount = 0;
+        for (Team team : teams) {
+            memberCount += team.getMembers().size();
+        }
+
+        long statements = statementCounter.count();
+        System.out.println("team members statements = " + statements);
+
+        // select team + 10개 팀의 members 를 한 번에
+        assertThat(memberCount).isEqualTo(20);
+        assertThat(statements).isEqualTo(2);
+    }
+}
@@ -0,0 +1,62 @@
+package study.jpadata.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.jpadata.entity.Member;
+import study.jpadata.metrics.StatementCounter;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.query.in-clause-chunk-size=4")
+@Transactional
+class MemberInClauseTest {
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    StatementCounter statementCounter;
+    @PersistenceContext
+    EntityManager em;
+
+    List<Member> members;
+
+    @BeforeEach
+    void setUp() {
+        members = IntStream.range(0, 10)
+                .mapToObj(i -> memberRepository.save(new Member("inClause" + i, i)))
+                .collect(Collectors.toList());
+        em.flush();
+        statementCounter.reset();
+    }
+
+    @Test
+    public void largeListIsSplitIntoChunks() {
+        List<String> names = members.stream().map(Member::getName).collect(Collectors.toCollection(ArrayList::new));
+        names.add("inClause0");
+
+        List<Member> result = memberRepository.findByNames(names);
+
+        // 중복을 뺀 10개를 4개씩: 4 + 4 + 2
+        assertThat(statementCounter.count()).isEqualTo(3);
+        assertThat(result).hasSize(10);
+        // 같은 영속성 컨텍스트에서 조회하므로 저장한 인스턴스가 그대로 나온다.
+        assertThat(result).containsExactlyInAnyOrderElementsOf(members);
+    }
+
+    @Test
+    public void smallListIsOneQuery() {
+        List<Member> result = memberRepository.findByNames(List.of("inClause1", "inClause2"));
+
+        assertThat(statementCounter.count()).isEqualTo(1);
+        assertThat(result).extracting(Member::getName).containsExactlyInAnyOrder("inClause1", "inClause2");
+    }
+}
@@ -99,6 +99,20 @@ class MemberJpaRepositoryTest {
         }
     }
 
+    @Test
+    public void keysetPaging() {
+        for (int i = 1; i <= 5; i++) {
+            memberJpaRepository.save(new Member("member" + i, 10));
+        }
+
+        List<Member> first = memberJpaRepository.findByPageAfter(10, null, null, 3);
+        assertThat(first).extracting("name").containsExactly("member5", "member4", "member3");
+
+        Member last = first.get(first.size() - 1);
+        List<Member> second = memberJpaRepository.findByPageAfter(10, last.getName(), last.getId(), 3);
+        assertThat(second).extracting("name").containsExactly("member2", "member1");
+    }
+
     @Test
     public void bulkUpdate() {
         memberJpaRepository.save(new Member("member1", 10));
@@ -1,11 +1,13 @@
 package study.jpadata.repository;
 
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,8 +18,11 @@ import study.jpadata.entity.Team;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @SpringBootTest
 @Transactional
@@ -118,6 +123,23 @@ class MemberRepositoryTest {
         }
     }
 
+    @Test
+    public void streamMemberDto() {
+        Team team = new Team("streamTeam");
+        teamRepository.save(team);
+        memberRepository.save(new Member("stream1", 10, team));
+        memberRepository.save(new Member("stream2", 20));
+
+        try (Stream<MemberDto> stream = memberRepository.streamMemberDto()) {
+            List<MemberDto> result = stream
+                    .filter(dto -> dto.getName().startsWith("stream"))
+                    .collect(Collectors.toList());
+
+            assertThat(result).extracting("name").containsExactly("stream1", "stream2");
+            assertThat(result).extracting("teamName").containsExactly("streamTeam", null);
+        }
+    }
+
     @Test
     public void findMemberByNames() {
         Member member1 = new Member("AAA", 10);
@@ -177,6 +199,45 @@ class MemberRepositoryTest {
         }
     }
 
+    @Test
+    public void findMemberDtoPage() {
+        Team team = new Team("dtoTeam");
+        teamRepository.save(team);
+        memberRepository.save(new Member("dto1", 10, team));
+        memberRepository.save(new Member("dto2", 10));
+        em.flush();
+        em.clear();
+
+        Page<MemberDto> page = memberRepository.findMemberDtoPage(PageRequest.of(0, 100, Sort.by("name")));
+
+        assertThat(page.getContent())
+                .filteredOn(dto -> dto.getName().startsWith("dto"))
+                .extracting("name", "teamName")
+                .containsExactly(tuple("dto1", "dtoTeam"), tuple("dto2", ""));
+        // 엔티티를 조회하지 않았으므로 영속성 컨텍스트가 비어 있어야 한다.
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+        assertThat(page.getTotalElements()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    public void keysetPaging() {
+        for (int i = 1; i <= 5; i++) {
+            memberRepository.save(new Member("keyset" + i, 77));
+        }
+
+        PageRequest pageRequest = PageRequest.of(0, 3);
+        Slice<Member> first = memberRepository.findSliceByAge(77, pageRequest);
+
+        assertThat(first.getContent()).extracting("name").containsExactly("keyset5", "keyset4", "keyset3");
+        assertThat(first.hasNext()).isTrue();
+
+        Member last = first.getContent().get(first.getContent().size() - 1);
+        Slice<Member> second = memberRepository.findByAgeKeyset(77, last.getName(), last.getId(), pageRequest);
+
+        assertThat(second.getContent()).extracting("name").containsExactly("keyset2", "keyset1");
+        assertThat(second.hasNext()).isFalse();
+    }
+
     @Test
     public void bulkUpdate() {
         memberRepository.save(new Member("member1", 10));
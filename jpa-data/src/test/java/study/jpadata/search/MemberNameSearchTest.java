@@ -0,0 +1,91 @@
+package study.jpadata.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpadata.entity.Member;
+import study.jpadata.repository.MemberRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 토큰은 커밋 직전에 쓰이므로 테스트 트랜잭션(롤백) 없이 확인한다.
+@SpringBootTest
+class MemberNameSearchTest {
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    List<Member> members;
+
+    @BeforeEach
+    void setUp() {
+        members = memberRepository.saveAll(List.of(
+                new Member("Qorvath Min-su", 10),
+                new Member("qorvath minho", 20),
+                new Member("Lee Qorvminsu", 30),
+                new Member("Zelqa", 40)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAllById(members.stream().map(Member::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void tokenize() {
+        assertThat(NameTokenizer.tokenize("Kim  Min-su_2")).containsExactly("kim", "min", "su", "2");
+        assertThat(NameTokenizer.tokenize("ＫＩＭ kim")).containsExactly("kim");
+        assertThat(NameTokenizer.tokenize(" -- ")).isEmpty();
+    }
+
+    @Test
+    public void everyTokenMustMatchAsPrefix() {
+        assertThat(names(memberRepository.searchByName("qorvath min", PageRequest.of(0, 10))))
+                .containsExactly("Qorvath Min-su", "qorvath minho");
+        assertThat(names(memberRepository.searchByName("QORV", PageRequest.of(0, 10))))
+                .containsExactly("Lee Qorvminsu", "Qorvath Min-su", "qorvath minho");
+        assertThat(memberRepository.searchByName("vath", PageRequest.of(0, 10))).isEmpty();
+        assertThat(memberRepository.searchByName("  ", PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    public void paging() {
+        Page<Member> first = memberRepository.searchByName("qorv", PageRequest.of(0, 2));
+
+        assertThat(first.getContent()).hasSize(2);
+        assertThat(first.getTotalElements()).isEqualTo(3);
+        assertThat(first.hasNext()).isTrue();
+    }
+
+    @Test
+    public void appliesPageableSort() {
+        assertThat(names(memberRepository.searchByName("qorv", PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "age")))))
+                .containsExactly("Lee Qorvminsu", "qorvath minho", "Qorvath Min-su");
+    }
+
+    @Test
+    public void renameAndDeleteUpdateIndex() {
+        transactionTemplate.executeWithoutResult(status ->
+                memberRepository.findById(members.get(3).getId()).get().setName("Qorvath Zelqa"));
+        memberRepository.deleteById(members.get(2).getId());
+        members = List.of(members.get(0), members.get(1), members.get(3));
+
+        assertThat(memberRepository.searchByName("zelqa", PageRequest.of(0, 10)).getContent())
+                .extracting(Member::getName).containsExactly("Qorvath Zelqa");
+        assertThat(memberRepository.searchByName("qorvmin", PageRequest.of(0, 10))).isEmpty();
+    }
+
+    private static List<String> names(Page<Member> page) {
+        return page.getContent().stream().map(Member::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,68 @@
+package study.jpadata.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.jpadata.entity.Member;
+import study.jpadata.entity.Team;
+import study.jpadata.repository.MemberJpaRepository;
+import study.jpadata.repository.TeamJpaRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class MemberBulkServiceTest {
+    @Autowired
+    MemberBulkService memberBulkService;
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @Autowired
+    TeamJpaRepository teamJpaRepository;
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    public void saveAllBatched() {
+        Team team = new Team("teamA");
+        memberBulkService.saveAllTeamsBatched(Stream.of(team), 10);
+
+        long saved = memberBulkService.saveAllBatched(
+                IntStream.rangeClosed(1, 250).mapToObj(i -> Member.forBulkInsert("member" + i, i, team)), 100);
+
+        assertThat(saved).isEqualTo(250);
+        assertThat(memberJpaRepository.count()).isEqualTo(250);
+        assertThat(teamJpaRepository.count()).isEqualTo(1);
+        // 같은 트랜잭션에서 만든 팀의 members 에 등록한 Member 가 쌓이지 않는다.
+        assertThat(team.getMembers()).isEmpty();
+    }
+
+    @Test
+    public void saveAllBatchedWithLoadedTeam() {
+        Team saved = teamJpaRepository.save(new Team("teamB"));
+        em.flush();
+        em.clear();
+        Team team = teamJpaRepository.findById(saved.getId()).get();
+
+        long count = memberBulkService.saveAllBatched(
+                IntStream.rangeClosed(1, 250).mapToObj(i -> Member.forBulkInsert("member" + i, i, team)), 100);
+
+        assertThat(count).isEqualTo(250);
+        assertThat(em.createQuery("select count(m) from Member m where m.team.id = :teamId", Long.class)
+                .setParameter("teamId", team.getId())
+                .getSingleResult()).isEqualTo(250);
+    }
+
+    @Test
+    public void invalidBatchSize() {
+        assertThatThrownBy(() -> memberBulkService.saveAllBatched(Stream.of(new Member("member1")), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,151 @@
+package study.jpadata.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpadata.entity.Member;
+import study.jpadata.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+// chunk 마다 커밋되는지 확인해야 하므로 테스트 트랜잭션을 쓰지 않는다.
+@SpringBootTest
+class MemberBulkUpdateServiceTest {
+    private static final int AGE = 500;
+
+    @Autowired
+    MemberBulkUpdateService memberBulkUpdateService;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    List<Member> members;
+
+    @BeforeEach
+    void setUp() {
+        members = memberRepository.saveAll(IntStream.range(0, 20)
+                .mapToObj(i -> new Member("chunk" + i, AGE + i % 2))
+                .collect(Collectors.toList()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAllInBatch(members);
+    }
+
+    @Test
+    public void updatesEveryChunk() {
+        List<BulkUpdateProgress> progress = new ArrayList<>();
+
+        long updated = memberBulkUpdateService.bulkAgePlus(AGE, 3, 2, p -> {
+            synchronized (progress) {
+                progress.add(p);
+            }
+        });
+
+        assertThat(updated).isEqualTo(20);
+        assertThat(progress).hasSize(memberBulkUpdateService.plan(AGE, 3).size());
+        assertThat(ages()).containsOnly(AGE + 1, AGE + 2);
+    }
+
+    @Test
+    public void resumesOnlyPendingChunks() {
+        List<IdRange> ranges = memberBulkUpdateService.plan(AGE, 5);
+
+        BulkUpdateFailedException failure = (BulkUpdateFailedException) catchThrowable(
+                () -> memberBulkUpdateService.resume(AGE, ranges, 1, p -> {
+                    throw new IllegalStateException("stop after first chunk");
+                }));
+
+        assertThat(failure.getPendingRanges()).hasSize(ranges.size() - 1);
+
+        long resumed = memberBulkUpdateService.resume(AGE, failure.getPendingRanges(), 1, p -> {
+        });
+
+        assertThat(failure.getUpdatedRows() + resumed).isEqualTo(20);
+        assertThat(ages()).containsOnly(AGE + 1, AGE + 2);
+    }
+
+    @Test
+    public void interruptWaitsForRunningChunk() throws Exception {
+        List<IdRange> ranges = memberBulkUpdateService.plan(AGE, 20);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // 다른 트랜잭션이 행을 잡고 있어 chunk 가 update 에서 기다리는 동안 호출한 스레드를 interrupt 한다.
+        Thread locker = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("update member set name = name where member_id = ?", members.get(0).getId());
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        AtomicBoolean interruptRestored = new AtomicBoolean();
+        Thread caller = new Thread(() -> {
+            try {
+                memberBulkUpdateService.resume(AGE, ranges, 1, p -> {
+                });
+            } catch (RuntimeException e) {
+                thrown.set(e);
+                interruptRestored.set(Thread.currentThread().isInterrupted());
+            }
+        });
+
+        locker.start();
+        locked.await();
+        caller.start();
+        Thread.sleep(200);
+        caller.interrupt();
+        Thread.sleep(100);
+        release.countDown();
+        caller.join();
+        locker.join();
+
+        BulkUpdateFailedException failure = (BulkUpdateFailedException) thrown.get();
+        assertThat(failure.getPendingRanges()).isEmpty();
+        assertThat(failure.getUpdatedRows()).isEqualTo(20);
+        assertThat(interruptRestored).isTrue();
+        assertThat(ages()).containsOnly(AGE + 1, AGE + 2);
+    }
+
+    @Test
+    public void rejectsCallerTransaction() {
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+                memberBulkUpdateService.bulkAgePlus(AGE, 3, 2, p -> {
+                })))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(ages()).containsOnly(AGE, AGE + 1);
+    }
+
+    @Test
+    public void invalidChunkSize() {
+        assertThatThrownBy(() -> memberBulkUpdateService.plan(AGE, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<Integer> ages() {
+        return memberRepository.findAllById(members.stream().map(Member::getId).collect(Collectors.toList()))
+                .stream()
+                .map(Member::getAge)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,57 @@
+package study.jpadata.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.jpadata.entity.Member;
+import study.jpadata.entity.Team;
+import study.jpadata.repository.MemberRepository;
+import study.jpadata.repository.TeamRepository;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberExportServiceTest {
+    @Autowired
+    MemberExportService memberExportService;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Test
+    public void exportNdjson() throws IOException {
+        Team team = new Team("teamA");
+        teamRepository.save(team);
+        memberRepository.save(new Member("member1", 10, team));
+        memberRepository.save(new Member("member2", 20));
+
+        StringWriter writer = new StringWriter();
+        long count = memberExportService.exportNdjson(writer);
+
+        String[] lines = writer.toString().split("\n");
+        assertThat(lines).hasSize((int) count)
+                .allMatch(line -> line.startsWith("{") && line.endsWith("}"))
+                .anyMatch(line -> line.contains("\"name\":\"member1\"") && line.contains("\"teamName\":\"teamA\""))
+                // 팀이 없는 회원도 다른 API 처럼 빈 문자열로 내보낸다.
+                .anyMatch(line -> line.contains("\"name\":\"member2\"") && line.contains("\"teamName\":\"\""))
+                .noneMatch(line -> line.contains("\"teamName\":null"));
+    }
+
+    @Test
+    public void exportCsv() throws IOException {
+        memberRepository.save(new Member("kim, \"junior\"", 10));
+
+        StringWriter writer = new StringWriter();
+        memberExportService.exportCsv(writer);
+
+        String[] lines = writer.toString().split("\n");
+        assertThat(lines[0]).isEqualTo("id,name,teamName");
+        assertThat(lines).anyMatch(line -> line.endsWith(",\"kim, \"\"junior\"\"\","));
+    }
+}
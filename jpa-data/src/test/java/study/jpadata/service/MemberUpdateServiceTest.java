@@ -0,0 +1,87 @@
+package study.jpadata.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpadata.entity.Member;
+import study.jpadata.repository.MemberRepository;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 충돌을 만들려면 실제로 커밋되어야 하므로 테스트 트랜잭션을 쓰지 않는다.
+@SpringBootTest(properties = "app.optimistic-retry.initial-backoff=1ms")
+class MemberUpdateServiceTest {
+    @Autowired
+    MemberUpdateService memberUpdateService;
+    @Autowired
+    OptimisticRetryExecutor optimisticRetryExecutor;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    Member member;
+    TransactionTemplate requiresNew;
+
+    @BeforeEach
+    void setUp() {
+        member = memberRepository.save(new Member("contended", 10));
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteById(member.getId());
+    }
+
+    @Test
+    public void retriesAfterConflictingWrite() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        optimisticRetryExecutor.execute(() -> {
+            Member loaded = memberRepository.findById(member.getId()).get();
+            if (attempts.incrementAndGet() == 1) {
+                // 다른 트랜잭션이 먼저 커밋해서 version 을 올린다.
+                requiresNew.executeWithoutResult(status -> memberRepository.findById(member.getId()).get().setAge(50));
+            }
+            loaded.setAge(loaded.getAge() + 1);
+            return loaded;
+        });
+
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(memberRepository.findById(member.getId()).get().getAge()).isEqualTo(51);
+    }
+
+    @Test
+    public void givesUpAfterMaxAttempts() {
+        assertThatThrownBy(() -> optimisticRetryExecutor.execute(() -> {
+            Member loaded = memberRepository.findById(member.getId()).get();
+            requiresNew.executeWithoutResult(status -> {
+                Member other = memberRepository.findById(member.getId()).get();
+                other.setAge(other.getAge() + 1);
+            });
+            loaded.setAge(0);
+            return loaded;
+        })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @Test
+    public void optimisticAndPessimisticUpdates() {
+        memberUpdateService.addAgeOptimistic(member.getId(), 5);
+        memberUpdateService.addAgePessimistic(member.getId(), 5);
+
+        Member updated = memberRepository.findById(member.getId()).get();
+        assertThat(updated.getAge()).isEqualTo(20);
+        assertThat(updated.getVersion()).isEqualTo(2L);
+    }
+}
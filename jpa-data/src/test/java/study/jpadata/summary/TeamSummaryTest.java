@@ -0,0 +1,133 @@
+package study.jpadata.summary;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpadata.entity.Member;
+import study.jpadata.entity.Team;
+import study.jpadata.entity.TeamSummary;
+import study.jpadata.repository.MemberRepository;
+import study.jpadata.repository.TeamRepository;
+import study.jpadata.repository.TeamSummaryRepository;
+import study.jpadata.service.MemberBulkUpdateService;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 변화량은 커밋 직전에 반영되므로 테스트 트랜잭션(롤백) 없이 확인한다.
+@SpringBootTest
+class TeamSummaryTest {
+    private static final int AGE = 900;
+
+    @Autowired
+    TeamRepository teamRepository;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    TeamSummaryRepository teamSummaryRepository;
+    @Autowired
+    TeamSummaryReconciler teamSummaryReconciler;
+    @Autowired
+    MemberBulkUpdateService memberBulkUpdateService;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    Team teamA;
+    Team teamB;
+    List<Member> members;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            teamA = teamRepository.save(new Team("summaryA"));
+            teamB = teamRepository.save(new Team("summaryB"));
+            members = memberRepository.saveAll(List.of(
+                    new Member("summary1", AGE, teamA),
+                    new Member("summary2", AGE + 10, teamA),
+                    new Member("summary3", AGE + 20, teamB)));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAllById(members.stream().map(Member::getId).collect(Collectors.toList()));
+        teamRepository.deleteAllById(List.of(teamA.getId(), teamB.getId()));
+    }
+
+    @Test
+    public void insertsAreAggregated() {
+        assertSummary(teamA, 2, 2 * AGE + 10, AGE, AGE + 10);
+        assertSummary(teamB, 1, AGE + 20, AGE + 20, AGE + 20);
+        assertThat(teamSummaryRepository.findById(teamA.getId()).get().getAgeAvg()).isEqualTo(AGE + 5.0);
+    }
+
+    @Test
+    public void changeTeamMovesMember() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Member member = memberRepository.findById(members.get(0).getId()).get();
+            member.changeTeam(teamRepository.findById(teamB.getId()).get());
+        });
+
+        assertSummary(teamA, 1, AGE + 10, AGE + 10, AGE + 10);
+        assertSummary(teamB, 2, 2 * AGE + 20, AGE, AGE + 20);
+    }
+
+    @Test
+    public void deletingExtremeRecomputesMinMax() {
+        Member youngest = members.get(0);
+        memberRepository.deleteById(youngest.getId());
+        members = members.subList(1, members.size());
+
+        assertSummary(teamA, 1, AGE + 10, AGE + 10, AGE + 10);
+    }
+
+    @Test
+    public void bulkAgePlusAdjustsSummary() {
+        transactionTemplate.executeWithoutResult(status -> memberRepository.bulkAgePlus(AGE + 10));
+
+        assertSummary(teamA, 2, 2 * AGE + 11, AGE, AGE + 11);
+        assertSummary(teamB, 1, AGE + 21, AGE + 21, AGE + 21);
+    }
+
+    @Test
+    public void bulkAgePlusWithoutCallerTransaction() {
+        memberRepository.bulkAgePlus(AGE + 10);
+
+        assertSummary(teamA, 2, 2 * AGE + 11, AGE, AGE + 11);
+        assertSummary(teamB, 1, AGE + 21, AGE + 21, AGE + 21);
+    }
+
+    @Test
+    public void chunkedBulkAgePlusAdjustsSummary() {
+        memberBulkUpdateService.bulkAgePlus(AGE + 10, 1, 2, p -> {
+        });
+
+        assertSummary(teamA, 2, 2 * AGE + 11, AGE, AGE + 11);
+        assertSummary(teamB, 1, AGE + 21, AGE + 21, AGE + 21);
+    }
+
+    @Test
+    public void reconcilerRepairsDrift() {
+        jdbcTemplate.update("update team_summary set member_count = 99, age_min = 1 where team_id = ?", teamA.getId());
+
+        assertThat(teamSummaryReconciler.reconcile()).isGreaterThanOrEqualTo(1);
+
+        assertSummary(teamA, 2, 2 * AGE + 10, AGE, AGE + 10);
+    }
+
+    private void assertSummary(Team team, long count, long sum, int min, int max) {
+        TeamSummary summary = teamSummaryRepository.findById(team.getId()).orElseThrow();
+        assertThat(summary.getMemberCount()).isEqualTo(count);
+        assertThat(summary.getAgeSum()).isEqualTo(sum);
+        assertThat(summary.getAgeMin()).isEqualTo(min);
+        assertThat(summary.getAgeMax()).isEqualTo(max);
+    }
+}